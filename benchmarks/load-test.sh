@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Same load against the application in platform-thread and virtual-thread mode.
+# Needs JDK 21 on PATH, a PostgreSQL as configured for PROFILE, and both jars built:
+#   (cd .. && mvn -Pjava21 install -DskipTests) && mvn package
+# Results: results/load-platform-*.json and results/load-virtual-*.json
+set -euo pipefail
+cd "$(dirname "$0")"
+
+APP_JAR=${APP_JAR:-$(ls ../target/*-exec.jar | head -1)}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8089}
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-60}
+
+for mode in platform virtual; do
+  profiles=$PROFILE
+  [ "$mode" = virtual ] && profiles=$PROFILE,virtual-threads
+
+  java -jar "$APP_JAR" --spring.profiles.active="$profiles" --server.port="$PORT" \
+       --spring.jpa.show-sql=false --logging.level.web=WARN --logging.level.org.hibernate=WARN \
+       --logging.level.org.hibernate.SQL=WARN --logging.level.org.hibernate.orm.jdbc.bind=WARN \
+       --logging.level.org.springframework=WARN --logging.level.org.springframework.cache=WARN \
+       --logging.level.org.springframework.security=WARN \
+       --logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN > "target/app-$mode.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    kill -0 $app || { echo "application failed to start, see target/app-$mode.log"; exit 1; }
+    sleep 1
+  done
+
+  java -cp target/benchmarks.jar com.example.Task_Management_System.benchmarks.LoadTest \
+       --url "http://localhost:$PORT" --concurrency "$CONCURRENCY" --duration "$DURATION" --label "$mode"
+
+  kill $app && wait $app || true
+done
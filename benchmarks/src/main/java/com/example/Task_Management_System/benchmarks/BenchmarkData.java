@@ -0,0 +1,95 @@
+package com.example.Task_Management_System.benchmarks;
+
+import com.example.Task_Management_System.model.Comment;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic (seeded) dataset shaped like production: a few hundred users,
+ * tasks with authors/executors, titles and descriptions of realistic length.
+ */
+public class BenchmarkData {
+    public static final long SEED = 42L;
+
+    public final List<User> users = new ArrayList<>();
+    public final List<Task> tasks = new ArrayList<>();
+    public final List<Comment> comments = new ArrayList<>();
+
+    public BenchmarkData(int userCount, int taskCount, int commentCount) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+        for (long id = 1; id <= userCount; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .firstName("First" + id)
+                    .lastName("Lastname" + id)
+                    .email("user" + id + "@site.com")
+                    .password("$2a$10$.sGf.fZ2GVXmYIU35E5wSOMRbPj2A1i.nBeJF2De9OHj6hv8DSo2O")
+                    .role(id == 1 ? User.Role.ADMIN : User.Role.USER)
+                    .build());
+        }
+
+        Task.Status[] statuses = Task.Status.values();
+        Task.Priority[] priorities = Task.Priority.values();
+        for (long id = 1; id <= taskCount; id++) {
+            User author = users.get(random.nextInt(userCount));
+            User executor = random.nextInt(4) == 0 ? null : users.get(random.nextInt(userCount));
+            LocalDateTime createdAt = now.minusSeconds(random.nextInt(365 * 24 * 3600));
+            Task task = Task.builder()
+                    .id(id)
+                    .title(text(random, 40))
+                    .description(text(random, 200))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .priority(priorities[random.nextInt(priorities.length)])
+                    .createdAt(createdAt)
+                    .updatedAt(random.nextBoolean() ? null : createdAt.plusHours(1))
+                    .commentCount(random.nextInt(20))
+                    .build();
+            task.setAuthor(author);
+            task.setAuthorId(author.getId());
+            task.setExecutor(executor);
+            task.setExecutorId(executor == null ? null : executor.getId());
+            tasks.add(task);
+        }
+
+        for (long id = 1; id <= commentCount; id++) {
+            Task task = tasks.get(random.nextInt(taskCount));
+            User author = users.get(random.nextInt(userCount));
+            comments.add(Comment.builder()
+                    .id(id)
+                    .task(task)
+                    .taskId(task.getId())
+                    .author(author)
+                    .authorId(author.getId())
+                    .content(text(random, 120))
+                    .createdAt(now.minusSeconds(random.nextInt(30 * 24 * 3600)))
+                    .build());
+        }
+    }
+
+    // a copy with one or two fields edited, as TaskService.updateTask receives it
+    public static Task edited(Task task, Random random) {
+        Task copy = new Task();
+        copy.setTitle(random.nextBoolean() ? task.getTitle() : task.getTitle() + " (edited)");
+        copy.setDescription(task.getDescription());
+        copy.setStatus(random.nextBoolean() ? task.getStatus() : Task.Status.COMPLETED);
+        copy.setPriority(task.getPriority());
+        return copy;
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            int word = 2 + random.nextInt(8);
+            for (int i = 0; i < word; i++) sb.append((char) ('a' + random.nextInt(26)));
+            sb.append(' ');
+        }
+        return sb.substring(0, length);
+    }
+}
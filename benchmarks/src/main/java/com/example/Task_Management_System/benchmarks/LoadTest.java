@@ -0,0 +1,137 @@
+package com.example.Task_Management_System.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running application: "concurrency" clients send requests
+ * back to back for "duration" seconds after a warmup, then throughput and latency percentiles
+ * are printed and written to results/load-<label>-<time>.json.
+ * Used by load-test.sh to compare platform and virtual thread request handling.
+ *
+ * java -cp target/benchmarks.jar com.example.Task_Management_System.benchmarks.LoadTest \
+ *      --url http://localhost:8080 --concurrency 400 --duration 60 --label virtual
+ */
+public class LoadTest {
+
+    // request mix: mostly blocking JDBC reads, one cached read, a few BCrypt logins
+    private static final String[] GETS = {
+            "/tasks/lazy?size=20", "/tasks/lazy?size=20", "/tasks/lazy?size=20", "/tasks/lazy?size=20",
+            "/tasks/by-status/IN_PROGRESS?size=20", "/tasks/by-status/IN_PROGRESS?size=20", "/tasks/by-status/IN_PROGRESS?size=20",
+            "/users/1", "/users/1", "/users/1", "/users/1",
+            "/tasks/1", "/tasks/1", "/tasks/1", "/tasks/1",
+    };
+    private static final double LOGIN_SHARE = 0.05;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String label = options.getOrDefault("label", "run");
+        String credentials = "{\"email\":\"" + options.getOrDefault("email", "adm@site.com")
+                + "\",\"password\":\"" + options.getOrDefault("password", "123") + "\"}";
+
+        ObjectMapper mapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Runnable::run)
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(url + "/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build();
+        String token = mapper.readTree(client.send(login, HttpResponse.BodyHandlers.ofString()).body())
+                .get("token").asText();
+
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(warmup).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(duration).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        HttpRequest request = random.nextDouble() < LOGIN_SHARE
+                                ? login
+                                : HttpRequest.newBuilder(URI.create(url + GETS[random.nextInt(GETS.length)]))
+                                        .header("Authorization", "Bearer " + token)
+                                        .timeout(Duration.ofSeconds(30))
+                                        .build();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - now;
+                        if (now < warmupEnd) continue;
+                        if (!ok) errors.incrementAndGet();
+                        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+                        samples[count++] = elapsed;
+                    }
+                } finally {
+                    latencies.add(Arrays.copyOf(samples, count));
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.start();
+        }
+        done.await();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("url", url);
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", duration);
+        result.put("requests", all.length);
+        result.put("errors", errors.get());
+        result.put("throughputPerSecond", all.length / (double) duration);
+        result.put("p50Ms", percentile(all, 0.50));
+        result.put("p90Ms", percentile(all, 0.90));
+        result.put("p99Ms", percentile(all, 0.99));
+        result.put("maxMs", all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+
+        String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+        System.out.println(json);
+        Path dir = Files.createDirectories(Path.of("results"));
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Files.writeString(dir.resolve("load-" + label + "-" + stamp + ".json"), json);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // --name value pairs
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
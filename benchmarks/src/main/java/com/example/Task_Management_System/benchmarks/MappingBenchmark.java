@@ -0,0 +1,106 @@
+package com.example.Task_Management_System.benchmarks;
+
+import com.example.Task_Management_System.dto.CommentResp;
+import com.example.Task_Management_System.dto.ResponseMapper;
+import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.dto.Timestamps;
+import com.example.Task_Management_System.model.Comment;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping and formatting, one operation = one page of {@code rows} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private List<Task> tasks;
+    private List<Task> edits;
+    private List<Comment> comments;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(200, rows, rows);
+        tasks = data.tasks;
+        comments = data.comments;
+        users = data.users;
+        Random random = new Random(BenchmarkData.SEED);
+        edits = tasks.stream().map(task -> BenchmarkData.edited(task, random)).toList();
+    }
+
+    @Benchmark
+    public void taskToResponse(Blackhole bh) {
+        for (Task task : tasks) bh.consume(ResponseMapper.toResponse(task));
+    }
+
+    // what the JPQL constructor projection (TaskRepository.SELECT_TASK_RESP) runs per row
+    @Benchmark
+    public void taskRespProjection(Blackhole bh) {
+        for (Task t : tasks) {
+            User a = t.getAuthor();
+            User e = t.getExecutor();
+            bh.consume(new TaskResp(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getPriority(),
+                    a.getId(), a.getFirstName(), a.getLastName(),
+                    e == null ? null : e.getId(), e == null ? null : e.getFirstName(), e == null ? null : e.getLastName(),
+                    t.getCommentCount(), t.getCreatedAt(), t.getUpdatedAt(), t.getVersion()));
+        }
+    }
+
+    // CommentService has no entity mapper any more; this is its per-row response cost
+    @Benchmark
+    public void commentRespProjection(Blackhole bh) {
+        for (Comment c : comments) {
+            User a = c.getAuthor();
+            bh.consume(new CommentResp(c.getId(), c.getContent(), a.getId(), a.getFirstName(), a.getLastName(),
+                    c.getTaskId(), c.getTask().getTitle(), c.getCreatedAt(), c.getUpdatedAt()));
+        }
+    }
+
+    @Benchmark
+    public void userToResponse(Blackhole bh) {
+        for (User user : users) bh.consume(ResponseMapper.toResponse(user));
+    }
+
+    @Benchmark
+    public void taskFieldsChanged(Blackhole bh) {
+        for (int i = 0; i < tasks.size(); i++) bh.consume(tasks.get(i).fieldsChanged(edits.get(i)));
+    }
+
+    // what TimestampSerializer does per field in text mode (reused buffer, no String)
+    @Benchmark
+    public void formatDateTime(Blackhole bh) {
+        char[] buf = new char[Timestamps.TEXT_LENGTH];
+        for (Task task : tasks) {
+            Timestamps.writeText(task.getCreatedAt(), buf);
+            bh.consume(buf);
+            if (task.getUpdatedAt() != null) {
+                Timestamps.writeText(task.getUpdatedAt(), buf);
+                bh.consume(buf);
+            }
+        }
+    }
+
+    // ?timeFormat=epoch
+    @Benchmark
+    public void epochMillis(Blackhole bh) {
+        for (Task task : tasks) {
+            bh.consume(Timestamps.epochMillis(task.getCreatedAt()));
+            if (task.getUpdatedAt() != null) bh.consume(Timestamps.epochMillis(task.getUpdatedAt()));
+        }
+    }
+}
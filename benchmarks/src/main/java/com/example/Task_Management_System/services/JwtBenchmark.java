@@ -0,0 +1,50 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// per-request JWT costs: one login (generate) and one authenticated request without token cache (extract)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final int USERS = 1000;
+
+    private JwtService jwtService;
+    private String[] emails;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("iNa0fyrTACIZxkT2fu9kET4FtF1BJbIviNa0fyrTACIZxkT2fu9kET4FtF1BJbIv");
+        jwtService = new JwtService(properties, new SimpleMeterRegistry());
+
+        emails = new String[USERS];
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            emails[i] = "user" + i + "@site.com";
+            tokens[i] = jwtService.generateToken(emails[i]);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        next = (next + 1) % USERS;
+        return jwtService.generateToken(emails[next]);
+    }
+
+    @Benchmark
+    public String extractUserEmail() {
+        next = (next + 1) % USERS;
+        return jwtService.extractUserEmail(tokens[next]);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Task_Management_System.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    // second level shared by all instances: "memory" (this JVM only) or "redis"
+    private String sharedTier = "memory";
+
+    // used for every cache that has no own entry in "specs"
+    private Spec defaults = new Spec(10_000L, Duration.ofMinutes(10), true);
+
+    // cache name -> limits, e.g. app.cache.specs.tasks.maximum-size
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        if (spec == null) return defaults;
+        if (spec.getMaximumSize() == null) spec.setMaximumSize(defaults.getMaximumSize());
+        if (spec.getExpireAfterWrite() == null) spec.setExpireAfterWrite(defaults.getExpireAfterWrite());
+        if (spec.getShared() == null) spec.setShared(defaults.getShared());
+        return spec;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+        // false: values stay in the near-cache of each instance, only evictions are shared
+        private Boolean shared;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.Task_Management_System.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * @Async methods run on Boot's "applicationTaskExecutor": a bounded thread pool
+ * (spring.task.execution.pool.*) or, with spring.threads.virtual.enabled, a virtual thread per task.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -2,38 +2,43 @@ package com.example.Task_Management_System.config;
 
 import com.example.Task_Management_System.repository.UserRepository;
 import com.example.Task_Management_System.services.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties({JwtProperties.class, PasswordHashingProperties.class})
 public class AuthConfig {
 
     private final UserRepository repository;
 
     @Bean
-    public UserDetailsService userDetailsService(){
+    public CustomUserDetailsService userDetailsService(){
         return new CustomUserDetailsService(repository);
     }
 
+    // every encode/matches (login, register, update) goes through the bounded hashing pool
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry){
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.getStrength()), properties, meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(){
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService());
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // re-hash on successful login when the stored hash has a lower cost than app.password-hashing.strength
+        provider.setUserDetailsPasswordService(userDetailsService());
         return provider;
     }
 
@@ -0,0 +1,103 @@
+package com.example.Task_Management_System.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Two cache levels behind the @Cacheable names used in services and repositories:
+ * an in-process Caffeine near-cache and a SharedCacheTier common to all instances
+ * (app.cache.shared-tier), see TwoLevelCache. Every eviction reaches the other instances.
+ * Caffeine evicts with W-TinyLFU once "maximum-size" is reached; hit/miss/eviction
+ * statistics are recorded and published by Actuator as "cache.*" meters (/actuator/metrics).
+ * Writes evict only the keys that show the changed entity, see CacheDependencies.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(AppCacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+    public static final String USER_RESP = "user_resp";
+
+    @Bean
+    public CacheManager cacheManager(AppCacheProperties properties, SharedCacheTier sharedTier) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new TwoLevelCache(super.adaptCaffeineCache(name, cache), sharedTier,
+                        properties.specFor(name).getShared());
+            }
+        };
+        // caches not listed in the config still get bounded, but are created on first use
+        cacheManager.setCaffeine(caffeine(properties.getDefaults()));
+
+        for (String name : new String[]{TASKS, USERS, USER_RESP}) {
+            properties.getSpecs().putIfAbsent(name, new AppCacheProperties.Spec());
+        }
+        properties.getSpecs().keySet().forEach(name -> {
+            AppCacheProperties.Spec spec = properties.specFor(name);
+            cacheManager.registerCustomCache(name, caffeine(spec).build());
+            log.info("Cache '{}' registered: maximumSize={}, expireAfterWrite={}, shared={}",
+                    name, spec.getMaximumSize(), spec.getExpireAfterWrite(), spec.getShared());
+        });
+        // entries evicted by another instance; other names on the channel (e.g. AuthTokenCache.NAME)
+        // are not Spring caches and must not be created here by the dynamic getCache
+        sharedTier.subscribe((name, key) -> {
+            if (!cacheManager.getCacheNames().contains(name)) return;
+            if (cacheManager.getCache(name) instanceof TwoLevelCache cache) cache.evictLocal(key);
+        });
+        log.info("Shared cache tier: {}", properties.getSharedTier());
+        return cacheManager;
+    }
+
+    // "cache.*" meters for the near-cache: Boot binds only plain CaffeineCache instances by itself
+    @Bean
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared-tier", havingValue = "memory", matchIfMissing = true)
+    public SharedCacheTier inMemorySharedCacheTier(AppCacheProperties properties) {
+        return new InMemorySharedCacheTier(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared-tier", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared-tier", havingValue = "redis")
+    public SharedCacheTier redisSharedCacheTier(RedisConnectionFactory connectionFactory,
+                                                RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                                AppCacheProperties properties) {
+        return new RedisSharedCacheTier(connectionFactory, cacheInvalidationListenerContainer, properties);
+    }
+
+    private Caffeine<Object, Object> caffeine(AppCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats();
+    }
+}
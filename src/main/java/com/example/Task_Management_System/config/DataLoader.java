@@ -12,7 +12,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
+import java.time.LocalDateTime;
 
 @Component
 @RequiredArgsConstructor
@@ -29,6 +29,10 @@ public class DataLoader implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        if (userRepository.count() > 0) {   // schema is persistent now (Flyway), seed only once
+            System.out.println("Demo data already loaded");
+            return;
+        }
         var admin = User.builder()
                 .firstName("Admin")
                 .lastName("Admin")
@@ -56,7 +60,7 @@ public class DataLoader implements CommandLineRunner {
                 .description("The first Task from CommandLineRunner")
                 .status(Task.Status.IN_PROGRESS)
                 .priority(Task.Priority.HIGH)
-                .createdAt(new Date())
+                .createdAt(LocalDateTime.now())
                 .build();
         Task task_1Saved = taskRepository.save(task_1);
         System.out.println("Task_1 saved, id: " + task_1Saved.getId());
@@ -68,7 +72,7 @@ public class DataLoader implements CommandLineRunner {
                 .description("Second Task with Admin as executor from CommandLineRunner")
                 .status(Task.Status.IN_PROGRESS)
                 .priority(Task.Priority.HIGH)
-                .createdAt(new Date())
+                .createdAt(LocalDateTime.now())
                 .build();
         Task task_2Saved = taskRepository.save(task_2);
         System.out.println("Task_2 saved, id: " + task_2Saved.getId());
@@ -77,16 +81,18 @@ public class DataLoader implements CommandLineRunner {
                 .task(task_1Saved)
                 .author(savedAdmin)
                 .content("First comment from 1 to the task 1")
-                .createdAt(new Date())
+                .createdAt(LocalDateTime.now())
                 .build();
         var comment_2 = Comment.builder()
                 .task(task_2Saved)
                 .author(savedUser)
                 .content("Second comment from 2 to the task 2")
-                .createdAt(new Date())
+                .createdAt(LocalDateTime.now())
                 .build();
         Comment comment_1saved = commentRepository.save(comment_1);
         Comment comment_2saved = commentRepository.save(comment_2);
+        taskRepository.addToCommentCount(task_1Saved.getId(), 1);
+        taskRepository.addToCommentCount(task_2Saved.getId(), 1);
         System.out.println("Comment_1 saved: " + comment_1saved);
         System.out.println("Comment_2 saved: " + comment_2saved);
 
@@ -0,0 +1,117 @@
+package com.example.Task_Management_System.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Shared tier that lives in this JVM: the default for a single instance and the stand-in for tests,
+ * where several TwoLevelCache managers can share one instance to act as separate nodes.
+ * Entries are bounded like the near-cache; links disappear together with their entry.
+ */
+public class InMemorySharedCacheTier implements SharedCacheTier {
+
+    private final AppCacheProperties properties;
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Links> links = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Object>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemorySharedCacheTier(AppCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return cache(cacheName).getIfPresent(key);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        cache(cacheName).put(key, value);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        cache(cacheName).invalidate(key);
+        subscribers.forEach(subscriber -> subscriber.accept(cacheName, key));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        cache(cacheName).invalidateAll();
+        subscribers.forEach(subscriber -> subscriber.accept(cacheName, null));
+    }
+
+    @Override
+    public void link(String cacheName, Object key, String reference) {
+        links(cacheName).add(key, reference);
+    }
+
+    @Override
+    public Set<Object> dependents(String cacheName, String reference) {
+        return links(cacheName).dependents(reference);
+    }
+
+    @Override
+    public long linkCount(String cacheName) {
+        return links(cacheName).size();
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, Object> invalidation) {
+        subscribers.add(invalidation);
+    }
+
+    private Links links(String cacheName) {
+        return links.computeIfAbsent(cacheName, name -> new Links());
+    }
+
+    private Cache<Object, Object> cache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> {
+            AppCacheProperties.Spec spec = properties.specFor(name);
+            return Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .executor(Runnable::run)
+                    // a replaced entry keeps the links just added for its new value
+                    .removalListener((key, value, cause) -> {
+                        if (cause != RemovalCause.REPLACED) links(name).remove(key);
+                    })
+                    .build();
+        });
+    }
+
+    // entry key -> references it shows, plus the reverse direction for lookups on change
+    private static class Links {
+        private final Map<Object, Set<String>> references = new HashMap<>();
+        private final Map<String, Set<Object>> dependents = new HashMap<>();
+
+        synchronized void add(Object key, String reference) {
+            references.computeIfAbsent(key, k -> new HashSet<>()).add(reference);
+            dependents.computeIfAbsent(reference, r -> new HashSet<>()).add(key);
+        }
+
+        synchronized void remove(Object key) {
+            Set<String> referenced = references.remove(key);
+            if (referenced == null) return;
+            for (String reference : referenced) {
+                Set<Object> keys = dependents.get(reference);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) dependents.remove(reference);
+            }
+        }
+
+        synchronized int size() {
+            return references.size();
+        }
+
+        synchronized Set<Object> dependents(String reference) {
+            Set<Object> keys = dependents.get(reference);
+            return keys == null ? Set.of() : Set.copyOf(keys);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.Task_Management_System.config;
 
+import com.example.Task_Management_System.services.AuthTokenCache;
 import com.example.Task_Management_System.services.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthTokenCache authTokenCache;
 
     private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
@@ -42,25 +45,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email = null;
 
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = authTokenCache.get(token);
+            if (userDetails == null) {
+                userDetails = verifyAndLoad(token);
+            }
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authenticationToken = createAuthenticationToken(userDetails, request);
+
+                SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(authenticationToken);
+                securityContextHolderStrategy.setContext(context);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // full path for a token not seen before: signature check + user lookup, then remember the result
+    private UserDetails verifyAndLoad(String token) {
+        Claims claims;
         try {
-            email = jwtService.extractUserEmail(token);
+            claims = jwtService.extractAllClaims(token);
         } catch (Exception e) {
             // Логируем исключение для дальнейшего анализа
             logger.warn("JWT exception: {} " + e.getMessage());
+            return null;
         }
+        if (claims.getSubject() == null) return null;
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            UsernamePasswordAuthenticationToken authenticationToken = createAuthenticationToken(userDetails, request);
-
-            SecurityContext context = securityContextHolderStrategy.createEmptyContext();
-            context.setAuthentication(authenticationToken);
-            securityContextHolderStrategy.setContext(context);
-        }
-
-        filterChain.doFilter(request, response);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        authTokenCache.put(token, userDetails, claims.getExpiration());
+        return userDetails;
     }
 
     private UsernamePasswordAuthenticationToken createAuthenticationToken(UserDetails userDetails, HttpServletRequest request) {
@@ -0,0 +1,26 @@
+package com.example.Task_Management_System.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtProperties {
+
+    // base64 HMAC secret new tokens are signed with
+    private String secret;
+
+    // written to the "kid" header of new tokens
+    private String keyId = "primary";
+
+    private Duration expiration = Duration.ofHours(24);
+
+    // kid -> base64 secret of retired keys that are still accepted (key rotation)
+    private Map<String, String> verificationKeys = new LinkedHashMap<>();
+}
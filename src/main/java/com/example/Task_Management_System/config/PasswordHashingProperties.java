@@ -0,0 +1,25 @@
+package com.example.Task_Management_System.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt cost for new hashes; older hashes with a lower cost are re-hashed on the next login
+    private int strength = 10;
+
+    // BCrypt is CPU-bound: more threads than cores only adds latency
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    // requests waiting for a hashing thread; the next one is rejected with 503
+    private int queueCapacity = 64;
+
+    // a request that waited longer than this is dropped before hashing (its client has likely given up)
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+}
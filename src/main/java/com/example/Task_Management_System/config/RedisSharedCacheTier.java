@@ -0,0 +1,153 @@
+package com.example.Task_Management_System.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Shared tier in Redis: entries are JDK-serialized under "tms:cache:<cache>:<key>" with the
+ * cache's expire-after-write as TTL; links are Redis sets "tms:cache:<cache>:links:<reference>"
+ * expiring with the entries they point to. Evictions are published on INVALIDATION_CHANNEL;
+ * an instance ignores its own messages because it has already evicted locally.
+ * A Redis failure never fails the request: reads and writes degrade to the near-cache and the
+ * database, and an eviction that did not reach Redis is logged; the entry ends with its TTL.
+ */
+@Slf4j
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    public static final String INVALIDATION_CHANNEL = "tms:cache:invalidation";
+    private static final String PREFIX = "tms:cache:";
+
+    private final AppCacheProperties properties;
+    private final RedisTemplate<String, Object> redis = new RedisTemplate<>();
+    private final RedisSerializer<Object> serializer = new JdkSerializationRedisSerializer();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<BiConsumer<String, Object>> subscribers = new ArrayList<>();
+
+    public RedisSharedCacheTier(RedisConnectionFactory connectionFactory, RedisMessageListenerContainer listenerContainer,
+                                AppCacheProperties properties) {
+        this.properties = properties;
+        redis.setConnectionFactory(connectionFactory);
+        redis.setKeySerializer(RedisSerializer.string());
+        redis.setValueSerializer(serializer);
+        redis.afterPropertiesSet();
+        listenerContainer.addMessageListener((message, pattern) -> onInvalidation(message.getBody()),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        try {
+            return redis.opsForValue().get(entryKey(cacheName, key));
+        } catch (RuntimeException e) {
+            // a cache outage degrades to near-cache + database, it must not fail the request
+            log.warn("Shared cache read failed for {}:{}: {}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        try {
+            redis.opsForValue().set(entryKey(cacheName, key), value, properties.specFor(cacheName).getExpireAfterWrite());
+        } catch (RuntimeException e) {
+            log.warn("Shared cache write failed for {}:{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    // usually called after commit: throwing would turn a committed write into an error response.
+    // The local copy is already gone (TwoLevelCache); other instances keep theirs until the TTL.
+    @Override
+    public void evict(String cacheName, Object key) {
+        try {
+            redis.delete(entryKey(cacheName, key));
+            publish(cacheName, key);
+        } catch (RuntimeException e) {
+            log.error("Shared cache eviction failed for {}:{}, other instances may serve it for up to {}: {}",
+                    cacheName, key, properties.specFor(cacheName).getExpireAfterWrite(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        try {
+            List<String> keys = new ArrayList<>();
+            // SCAN instead of KEYS: does not block Redis on a large keyspace
+            try (Cursor<String> cursor = redis.scan(ScanOptions.scanOptions().match(PREFIX + cacheName + ":*").count(1000).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) redis.delete(keys);
+            publish(cacheName, null);
+        } catch (RuntimeException e) {
+            log.error("Shared cache clear failed for {}, other instances may serve old entries for up to {}: {}",
+                    cacheName, properties.specFor(cacheName).getExpireAfterWrite(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void link(String cacheName, Object key, String reference) {
+        String linksKey = linksKey(cacheName, reference);
+        try {
+            redis.opsForSet().add(linksKey, key);
+            redis.expire(linksKey, properties.specFor(cacheName).getExpireAfterWrite());
+        } catch (RuntimeException e) {
+            log.warn("Shared cache link failed for {}:{} -> {}: {}", cacheName, key, reference, e.getMessage());
+        }
+    }
+
+    // not guarded: CacheDependencies falls back to dropping the whole near-cache when this fails
+    @Override
+    public Set<Object> dependents(String cacheName, String reference) {
+        Set<Object> keys = redis.opsForSet().members(linksKey(cacheName, reference));
+        return keys == null ? Set.of() : keys;
+    }
+
+    // number of referenced entities with links; one SCAN per call, so meant for the metrics scrape only
+    @Override
+    public long linkCount(String cacheName) {
+        long count = 0;
+        try (Cursor<String> cursor = redis.scan(ScanOptions.scanOptions().match(PREFIX + cacheName + ":links:*").count(1000).build())) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, Object> invalidation) {
+        subscribers.add(invalidation);
+    }
+
+    private void publish(String cacheName, Object key) {
+        redis.convertAndSend(INVALIDATION_CHANNEL, new Invalidation(instanceId, cacheName, key));
+    }
+
+    private void onInvalidation(byte[] body) {
+        if (!(serializer.deserialize(body) instanceof Invalidation invalidation)) return;
+        if (instanceId.equals(invalidation.instanceId())) return;
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation.cacheName(), invalidation.key()));
+    }
+
+    private static String entryKey(String cacheName, Object key) {
+        return PREFIX + cacheName + ":" + key;
+    }
+
+    private static String linksKey(String cacheName, String reference) {
+        return PREFIX + cacheName + ":links:" + reference;
+    }
+
+    private record Invalidation(String instanceId, String cacheName, Object key) implements Serializable {
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.Task_Management_System.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a replica (round robin), everything else to the primary.
+ * The primary also serves reads when every replica lags more than max-lag (or is down),
+ * and reads of a user who wrote within sticky-window, so they see their own changes,
+ * and reads wrapped in onPrimary, e.g. cache loaders.
+ * Write times are kept in the SharedCacheTier as well: the next request of the user may reach
+ * another instance. The local copy spares the shared tier a lookup for users writing here.
+ * Must sit behind a LazyConnectionDataSourceProxy: the target is chosen at the first statement,
+ * when the transaction's read-only flag is already known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    static final String RECENT_WRITERS = "recent_writers";
+
+    private static final ThreadLocal<Boolean> PRIMARY_HINT = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<ReplicaState> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Long> recentWriters;
+    private final SharedCacheTier sharedTier;
+    private final long stickyWindowMillis;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final Map<String, Counter> routed = new HashMap<>();
+    private ScheduledExecutorService lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    ReplicaRoutingProperties properties, SharedCacheTier sharedTier,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.sharedTier = sharedTier;
+        this.stickyWindowMillis = properties.getStickyWindow().toMillis();
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        this.lagQuery = properties.getLagQuery();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getStickyWindow())
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            ReplicaState replica = new ReplicaState("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication delay of the replica in seconds, -1 when unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.key)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (String reason : new String[]{"write", "sticky", "cache_load", "lagging", "read"}) {
+            routed.put(reason, Counter.builder("datasource.routing")
+                    .description("Connections handed out by target and routing reason")
+                    .tag("target", reason.equals("read") ? "replica" : PRIMARY)
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) markWriter(user);
+            return route("write", PRIMARY);
+        }
+        if (user != null && wroteRecently(user)) return route("sticky", PRIMARY);
+        if (PRIMARY_HINT.get() != null) return route("cache_load", PRIMARY);
+
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaState replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.available) return route("read", replica.key);
+        }
+        return route("lagging", PRIMARY);
+    }
+
+    private void markWriter(String user) {
+        long now = System.currentTimeMillis();
+        recentWriters.put(user, now);
+        sharedTier.put(RECENT_WRITERS, user, now);
+    }
+
+    // the shared entry may outlive the window (its TTL is the cache default), so the time is compared
+    private boolean wroteRecently(String user) {
+        if (recentWriters.getIfPresent(user) != null) return true;
+        return sharedTier.get(RECENT_WRITERS, user) instanceof Long wroteAt
+                && System.currentTimeMillis() - wroteAt < stickyWindowMillis;
+    }
+
+    // Reads in "work" go to the primary. For cache loaders: the primary evicts after commit, and a load
+    // from a replica that has not replayed the commit yet would cache the old value until it expires.
+    // Only decides while the transaction has no connection yet, i.e. wrap its first statement.
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean outer = PRIMARY_HINT.get() != null;
+        PRIMARY_HINT.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (!outer) PRIMARY_HINT.remove();
+        }
+    }
+
+    private String route(String reason, String key) {
+        routed.get(reason).increment();
+        return key;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || !auth.isAuthenticated() ? null : auth.getName();
+    }
+
+    // not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    public void startLagMonitor(Duration interval) {
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replication-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkReplicationLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // a replica that cannot answer counts as lagging
+    public void checkReplicationLag() {
+        for (ReplicaState replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+            } catch (Exception e) {
+                log.warn("Replica {} lag check failed: {}", replica.key, e.getMessage());
+                replica.lagSeconds = -1;
+            }
+            boolean available = replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+            if (available != replica.available) {
+                log.warn("Replica {} is {} (lag {} s)", replica.key, available ? "back in use" : "skipped", replica.lagSeconds);
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagMonitor != null) lagMonitor.shutdownNow();
+        if (primary instanceof AutoCloseable closeable) closeable.close();
+        for (ReplicaState replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+
+    private static class ReplicaState {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile double lagSeconds;
+        private volatile boolean available = true;
+
+        ReplicaState(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
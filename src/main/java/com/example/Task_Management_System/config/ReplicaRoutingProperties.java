@@ -0,0 +1,43 @@
+package com.example.Task_Management_System.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    // off: the single spring.datasource.* pool serves everything
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // a replica further behind than this gets no reads until it catches up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // reads of a user who wrote within this window go to the primary; keep it above max-lag
+    private Duration stickyWindow = Duration.ofSeconds(10);
+
+    // replay delay in seconds (PostgreSQL streaming replication): 0 when not a standby or when everything
+    // received is replayed; the time since the last replayed commit alone grows on an idle primary
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
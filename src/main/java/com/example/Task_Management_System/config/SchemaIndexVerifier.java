@@ -0,0 +1,75 @@
+package com.example.Task_Management_System.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Fails startup when an index the repositories rely on is missing (e.g. migration skipped or index dropped by hand).
+ * Runs after Flyway; disabled in tests where the schema comes from createTables.sql.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(prefix = "app.schema", value = "verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements InitializingBean {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "task", List.of(
+                    "task_author_created_idx",
+                    "task_executor_created_idx",
+                    "task_status_created_idx",
+                    "task_status_priority_created_idx",
+                    "task_priority_created_id_idx",
+                    "task_created_id_idx"),
+            "comment", List.of(
+                    "comment_task_created_idx",
+                    "comment_author_created_idx"),
+            "user_table", List.of(
+                    "email_idx"),
+            "outbox_message", List.of(
+                    "outbox_message_task_idx")
+    );
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : EXPECTED_INDEXES.entrySet()) {
+                Set<String> existing = existingIndexes(metaData, table.getKey());
+                table.getValue().stream()
+                        .filter(index -> !existing.contains(index))
+                        .forEach(index -> missing.add(table.getKey() + "." + index));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes: " + missing + ". Check db/migration is applied");
+        }
+        log.info("Schema indexes verified: {}", EXPECTED_INDEXES.values());
+    }
+
+    private Set<String> existingIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> indexes = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name != null) indexes.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+}
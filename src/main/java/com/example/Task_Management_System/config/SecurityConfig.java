@@ -38,7 +38,8 @@ public class SecurityConfig {
                                         "/swagger-resources", "/swagger-resources/**",
                                         "/configuration/ui", "configuration/security",
                                         "/v3/api-docs", "/v3/api-docs/**",
-                                        "/webjars/**").permitAll()
+                                        "/webjars/**",
+                                        "/actuator/health").permitAll()
                                 .requestMatchers("/users/*/delete").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                 )
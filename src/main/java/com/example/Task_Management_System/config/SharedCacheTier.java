@@ -0,0 +1,34 @@
+package com.example.Task_Management_System.config;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Second cache level shared by all application instances, behind the per-instance Caffeine
+ * near-cache (see TwoLevelCache). Evictions are broadcast so every instance drops its local copy.
+ * Dependency links (see CacheDependencies) are kept here too: any instance can then evict
+ * entries another instance computed.
+ * Implementations: InMemorySharedCacheTier (single instance, tests), RedisSharedCacheTier.
+ */
+public interface SharedCacheTier {
+
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value);
+
+    // removes the entry and tells every instance to drop its local copy
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+
+    // the entry "key" of "cacheName" shows "reference", e.g. "task:10"
+    void link(String cacheName, Object key, String reference);
+
+    Set<Object> dependents(String cacheName, String reference);
+
+    // size of the link index of "cacheName", for the cache.dependency.links gauge
+    long linkCount(String cacheName);
+
+    // (cache name, key) of local copies to drop; key is null when the whole cache was cleared
+    void subscribe(BiConsumer<String, Object> invalidation);
+}
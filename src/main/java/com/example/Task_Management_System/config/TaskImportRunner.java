@@ -0,0 +1,42 @@
+package com.example.Task_Management_System.config;
+
+import com.example.Task_Management_System.dto.ImportReport;
+import com.example.Task_Management_System.services.TaskImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// java -jar tms.jar --app.import.file=/data/tasks.ndjson [--app.import.exit-when-done=true]
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.import", name = "file")
+@Slf4j
+public class TaskImportRunner implements CommandLineRunner {
+    private final TaskImportService importService;
+    private final ApplicationContext context;
+
+    @Value("${app.import.file}")
+    private String file;
+
+    @Value("${app.import.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("Importing tasks from {}", file);
+        ImportReport report = importService.importFile(Path.of(file));
+        report.getRejected().forEach(rejected -> log.warn("Rejected line {}: {}", rejected.line(), rejected.reason()));
+
+        if (exitWhenDone) {
+            int code = report.getRejectedCount() == 0 ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.Task_Management_System.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine near-cache in front of the SharedCacheTier. Reads try the local copy, then the shared tier
+ * (and keep a local copy of what they found); writes and evictions go to both levels.
+ * Null results are cached locally only. With shareValues=false (app.cache.specs.<name>.shared)
+ * values stay on this instance, but evictions are still broadcast.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache local;
+    private final SharedCacheTier shared;
+    private final boolean shareValues;
+
+    public TwoLevelCache(Cache local, SharedCacheTier shared, boolean shareValues) {
+        this.local = local;
+        this.shared = shared;
+        this.shareValues = shareValues;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.get(key);
+        if (wrapper != null || !shareValues) return wrapper;
+        Object value = shared.get(getName(), key);
+        if (value == null) return null;
+        local.put(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) return (T) wrapper.get();
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        if (shareValues && value != null) shared.put(getName(), key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        shared.evict(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = local.evictIfPresent(key);
+        shared.evict(getName(), key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        shared.clear(getName());
+    }
+
+    // another instance evicted the entry: the shared tier is already up to date
+    public void evictLocal(Object key) {
+        if (key == null) local.clear();
+        else local.evict(key);
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.Task_Management_System.controllers;
 
 
+import com.example.Task_Management_System.exception.BatchTooLargeException;
 import com.example.Task_Management_System.exception.CustomPermissionException;
+import com.example.Task_Management_System.exception.InvalidCursorException;
+import com.example.Task_Management_System.exception.InvalidSearchCriteriaException;
+import com.example.Task_Management_System.exception.PasswordHashingBusyException;
+import com.example.Task_Management_System.exception.TaskConflictException;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -24,8 +31,25 @@ public class ControllerAdviceController {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
     }
 
-    @ExceptionHandler(NoSuchElementException.class)
-    public ResponseEntity<String> handleNoSuchElementException(NoSuchElementException ex) {
+    @ExceptionHandler({NoSuchElementException.class,
+            InvalidCursorException.class,
+            InvalidSearchCriteriaException.class,
+            BatchTooLargeException.class})
+    public ResponseEntity<String> handleNoSuchElementException(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
     }
+
+    @ExceptionHandler({TaskConflictException.class,
+            ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleConflictException(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusyException(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
 }
@@ -1,9 +1,16 @@
 package com.example.Task_Management_System.controllers;
 
+import com.example.Task_Management_System.dto.BatchItemResult;
+import com.example.Task_Management_System.dto.ImportReport;
 import com.example.Task_Management_System.dto.TaskReq;
 import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.dto.TaskSearchCriteria;
+import com.example.Task_Management_System.dto.TaskStatusReq;
 import com.example.Task_Management_System.model.Task.Priority;
 import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.services.TaskEvents;
+import com.example.Task_Management_System.services.TaskExportService;
+import com.example.Task_Management_System.services.TaskImportService;
 import com.example.Task_Management_System.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,12 +23,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/tasks")
@@ -30,6 +47,9 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService service;
+    private final TaskExportService exportService;
+    private final TaskImportService importService;
+    private final TaskEvents events;
 
     @Operation(
             description = "Add new Task from authenticated User with existing User as executor (optional)",
@@ -49,6 +69,31 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body("Task createdAt with id: " + savedTask.getId());
     }
 
+    @Operation(
+            description = "Add many Tasks in one request. Items are validated one by one: invalid items are reported " +
+                    "with status FAILED, the rest are inserted in one transaction.",
+            summary = "Add Tasks in bulk",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Result per item, in request order"),
+                    @ApiResponse(responseCode = "400", description = "Too many items",
+                            content = { @Content(mediaType = "text/plain; charset=utf-8",
+                                    schema = @Schema(example = "Batch has 6000 items, the limit is 5000")) })
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createTasks(@RequestBody List<TaskReq> tasks, Authentication auth) {
+        return ResponseEntity.ok(service.createTasks(tasks, auth));
+    }
+
+    @Operation(
+            description = "Update many Tasks in one request: {\"<taskId>\": {...}, ...}. Same permission rules as /{id}/update.",
+            summary = "Update Tasks in bulk"
+    )
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateTasks(@RequestBody Map<Long, TaskReq> tasks, Authentication auth) {
+        return ResponseEntity.ok(service.updateTasks(tasks, auth));
+    }
+
     @DeleteMapping("/{id}/delete")
     public ResponseEntity<?> deleteTask(@PathVariable Long id, Authentication auth){
         service.deleteTask( id, auth );
@@ -68,22 +113,76 @@ public class TaskController {
                                     schema = @Schema(example = "There is no Task with id: 1")) }),
                     @ApiResponse(responseCode = "403", description = "Wrong authorId",
                             content = { @Content(mediaType = "text/plain; charset=utf-8",
-                                    schema = @Schema(example = "You have no permission to update this task: 1")) })
+                                    schema = @Schema(example = "You have no permission to update this task: 1")) }),
+                    @ApiResponse(responseCode = "409", description = "The same field was changed since the If-Match version",
+                            content = { @Content(mediaType = "text/plain; charset=utf-8",
+                                    schema = @Schema(example = "Task 1 was changed since version 3 (current 4), conflicting fields: [status]")) })
             }
     )
     @PutMapping("/{id}/update")
-    public ResponseEntity<?> updateTask(@PathVariable Long id, @Valid @RequestBody TaskReq task, Authentication auth){
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @Valid @RequestBody TaskReq task,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        Authentication auth){
+        Long expectedVersion;
+        try {
+            expectedVersion = parseVersion(ifMatch);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Invalid If-Match: " + ifMatch);
+        }
+
+        TaskResp updatedTask = service.updateTask( id, task, auth, expectedVersion );
+
+        // the same tag GET /tasks/{id} returns for the state this request wrote
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(updatedTask.etag())
+                .body("Task updated successfully: " + updatedTask.getId());
+    }
+
+    @Operation(
+            description = "Author or executor sets the status with one conditional UPDATE. " +
+                    "With If-Match the request fails only if the status itself changed since that version.",
+            summary = "Update Task status"
+    )
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<?> updateStatus(@PathVariable Long id, @Valid @RequestBody TaskStatusReq statusReq,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          Authentication auth){
+        Long expectedVersion;
+        try {
+            expectedVersion = parseVersion(ifMatch);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Invalid If-Match: " + ifMatch);
+        }
 
-        Long updatedTask = service.updateTask( id, task, auth );
+        TaskResp updatedTask = service.updateStatus(id, statusReq.getStatus(), auth, expectedVersion);
 
-        return ResponseEntity.status(HttpStatus.OK).body("Task updated successfully: " + updatedTask);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(updatedTask.etag())
+                .body("Task status updated successfully: " + id);
+    }
+
+    // ETag of a task starts with its version: "3-<digest>"; a bare "3" or W/"3" is accepted too,
+    // "*" or no header means "whatever is current"
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        tag = tag.replace("\"", "");
+        int dash = tag.indexOf('-');
+        return Long.valueOf(dash < 0 ? tag : tag.substring(0, dash));
     }
 
     // GET /tasks/by-author/2?authorId=1&page=0&size=10&sort=createdAt,desc
+    // Every listing below switches to keyset mode when "cursor" is present:
+    // GET /tasks/by-author/2?cursor=&size=10 -> first page, then ?cursor=<nextCursor from previous page>
     @GetMapping("/by-author/{authorId}")
     public ResponseEntity<?> finAllByAuthorId(@PathVariable("authorId") Long authorId,
+                                              @RequestParam(required = false) String cursor,
                                               @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
                                               Pageable pageable) {
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollByAuthorId(authorId, cursor, pageable.getPageSize()));
+        }
 
         List<TaskResp> fromDb = service.findAllByAuthorId(authorId, pageable);
 
@@ -92,8 +191,12 @@ public class TaskController {
 
     @GetMapping("/by-executor/{executorId}")
     public ResponseEntity<?> finAllByExecutorId(@PathVariable("executorId") Long executorId,
+                                                @RequestParam(required = false) String cursor,
                                                 @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
                                                 Pageable pageable) {
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollByExecutorId(executorId, cursor, pageable.getPageSize()));
+        }
 
         List<TaskResp> fromDb =service.findAllByExecutorId(executorId, pageable);
 
@@ -102,8 +205,12 @@ public class TaskController {
 
     @GetMapping("/by-status/{status}")
     public ResponseEntity<?> finAllByStatus(@PathVariable("status") Task.Status status,
+                                            @RequestParam(required = false) String cursor,
                                             @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
                                             Pageable pageable) {
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollByStatus(status, cursor, pageable.getPageSize()));
+        }
 
         List<TaskResp> fromDb =service.findAllByStatus(status, pageable);
 
@@ -112,26 +219,60 @@ public class TaskController {
 
     @GetMapping("/by-priority/{priority}")
     public ResponseEntity<?> finAllByPriority(@PathVariable("priority") Task.Priority priority,
+                                              @RequestParam(required = false) String cursor,
                                               @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
                                               Pageable pageable) {
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollByPriority(priority, cursor, pageable.getPageSize()));
+        }
 
         List<TaskResp> fromDb = service.findAllByPriority(priority, pageable);
 
         return ResponseEntity.status(HttpStatus.OK).body(fromDb);
     }
 
+    // GET /tasks/events?executorId=2 -> text/event-stream of TaskEvent; EventSource resumes with Last-Event-ID
+    @Operation(
+            description = "Server-sent events for task writes, optionally only for tasks of one author and/or executor. " +
+                    "A \"reset\" event means events were missed and the client must reload.",
+            summary = "Subscribe to Task changes"
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) Long authorId,
+                             @RequestParam(required = false) Long executorId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return events.subscribe(authorId, executorId, lastEventId);
+    }
+
+    // Polling clients send If-None-Match and get 304 without a body. The check runs on the cached
+    // TaskResp: a hit costs no query and no serialization. No Last-Modified: updatedAt misses changes
+    // of comments and names, and a one-second HTTP date would hide two updates within the same second.
     @GetMapping("/{id}")
-    public ResponseEntity<?> findOne(@PathVariable Long id){
-        return ResponseEntity.status(HttpStatus.OK).body(service.findOne(id));
+    public ResponseEntity<?> findOne(@PathVariable Long id, WebRequest request){
+        TaskResp task = service.findOne(id);
+        if (request.checkNotModified(task.etag())) return null;
+        return ResponseEntity.status(HttpStatus.OK).body(task);
+    }
+
+    @InitBinder
+    void initSearchBounds(WebDataBinder binder) {
+        for (String field : TaskSearchCriteria.LOWER_BOUNDS) {
+            binder.registerCustomEditor(LocalDateTime.class, field, TaskSearchCriteria.boundEditor(false));
+        }
+        for (String field : TaskSearchCriteria.UPPER_BOUNDS) {
+            binder.registerCustomEditor(LocalDateTime.class, field, TaskSearchCriteria.boundEditor(true));
+        }
     }
 
+    // GET /tasks/criteria?executorId=2&status=ON_HOLD,IN_PROGRESS&createdFrom=2025-01-01T00:00:00&sort=priority
     @GetMapping("/criteria")
-    public ResponseEntity<?> findByCriteria(@RequestParam(required = false) Long authorId,
-                                     @RequestParam(required = false) Long executorId,
-                                     @RequestParam(required = false) Task.Status status,
-                                     @RequestParam(required = false) Task.Priority priority,
+    public ResponseEntity<?> findByCriteria(@ModelAttribute TaskSearchCriteria criteria,
+                                            @RequestParam(required = false) String cursor,
                                             Pageable pageable) {
-        List<TaskResp> fromDb = service.findByCriteria(authorId, executorId, status, priority, pageable);
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollByCriteria(criteria, cursor, pageable.getPageSize()));
+        }
+        List<TaskResp> fromDb = service.findByCriteria(criteria, pageable);
         return ResponseEntity.ok(fromDb);
     }
 
@@ -140,7 +281,10 @@ public class TaskController {
             summary = "Get all tasks \"lazily\""
     )
     @GetMapping("/lazy")
-    public ResponseEntity<?> findAll(Pageable pageable){
+    public ResponseEntity<?> findAll(@RequestParam(required = false) String cursor, Pageable pageable){
+        if (cursor != null) {
+            return ResponseEntity.ok(service.scrollAll(cursor, pageable.getPageSize()));
+        }
         List<TaskResp> taskRespList = service.findAll(pageable);
         return ResponseEntity.ok(taskRespList);
     }
@@ -153,10 +297,44 @@ public class TaskController {
     public ResponseEntity<?> findAllEagerly(@RequestParam(value = "page", defaultValue = "0") int page,
                                             @RequestParam(value = "size", defaultValue = "10") int size,
                                             @RequestParam(value = "sort", defaultValue = "id") String[] sort,
-                                            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction){
+                                            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction,
+                                            @RequestParam(required = false) String cursor){
+        if (cursor != null) {   // keyset mode ignores page/sort/direction: order is createdAt DESC, id DESC
+            return ResponseEntity.ok(service.scrollAll(cursor, size));
+        }
         PageRequest pageRequest = PageRequest.of(page, size, direction, sort);
         List<TaskResp> taskRespList = service.findFullTasks(pageRequest);
         return ResponseEntity.ok(taskRespList);
     }
 
+    @Operation(
+            description = "All Tasks as NDJSON (one JSON object per line), ordered by id. " +
+                    "With comments=true every line also carries the Task's comments.",
+            summary = "Export all tasks"
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "false") boolean comments) {
+        StreamingResponseBody body = out -> exportService.export(out, comments);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            description = "Import Tasks with their comments from NDJSON (application/x-ndjson) or CSV (text/csv). " +
+                    "Users are referenced by email. The body is read incrementally; invalid rows are skipped " +
+                    "and listed in the report.",
+            summary = "Bulk import (ADMIN only)"
+    )
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) {
+        return ResponseEntity.ok(importService.importNdjson(body));
+    }
+
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
 }
@@ -2,8 +2,11 @@ package com.example.Task_Management_System.controllers;
 
 import com.example.Task_Management_System.dto.AuthRequest;
 import com.example.Task_Management_System.dto.AuthResponse;
+import com.example.Task_Management_System.dto.UserDeletionJob;
 import com.example.Task_Management_System.dto.UserReq;
 import com.example.Task_Management_System.dto.UserResp;
+import com.example.Task_Management_System.services.UserDeletionJobs;
+import com.example.Task_Management_System.services.UserDeletionService;
 import com.example.Task_Management_System.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,7 +22,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -28,6 +33,8 @@ import java.util.List;
 @Tag(name = "Контроллер для пользователей")
 public class UserController {
     private final UserService service;
+    private final UserDeletionService deletionService;
+    private final UserDeletionJobs deletionJobs;
 
     @Operation(summary = "Add new User to TMS")
     @ApiResponses(value = {
@@ -97,6 +104,10 @@ public class UserController {
                     content = {@Content(
                             mediaType = "text/plain; charset=utf-8",
                             schema = @Schema(example = "User deleted successfully: 1"))}),
+            @ApiResponse(responseCode = "202", description = "With async=true: deletion job started",
+                    content = {@Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserDeletionJob.class))}),
             @ApiResponse(responseCode = "403", description = "Access denied",
                     content = {@Content(
                             mediaType = "text/plain; charset=utf-8",
@@ -106,11 +117,26 @@ public class UserController {
     @SecurityRequirement(name = "JWT Bearer")
     @DeleteMapping("/{id}/delete")
     @PreAuthorize(value = "hasRole('ADMIN')")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
-        service.deleteUser(id);
+    public ResponseEntity<?> deleteUser(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            UserDeletionJob job = deletionJobs.submit(id);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/users/deletions/" + job.getJobId()))
+                    .body(job);
+        }
+        deletionService.delete(id);
         return ResponseEntity.status(HttpStatus.OK).body("User deleted successfully: " + id);
     }
 
+    @Operation(summary = "State of a background user deletion")
+    @SecurityRequirement(name = "JWT Bearer")
+    @GetMapping("/deletions/{jobId}")
+    @PreAuthorize(value = "hasRole('ADMIN')")
+    public ResponseEntity<UserDeletionJob> getDeletionJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(deletionJobs.get(jobId));
+    }
+
     @Operation(
             description = "All information loaded eagerly",
             summary = "Retrieve all information about User",
@@ -123,9 +149,11 @@ public class UserController {
             }
     )
     @SecurityRequirement(name = "JWT Bearer")
+    // 304 for an unchanged user, checked on the cached user_resp before anything is serialized
     @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable Long id) {
+    public ResponseEntity<?> getById(@PathVariable Long id, WebRequest request) {
         UserResp response = service.getById(id);
+        if (request.checkNotModified(response.etag())) return null;
         return ResponseEntity.ok(response);
     }
 }
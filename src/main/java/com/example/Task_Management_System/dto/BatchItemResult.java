@@ -0,0 +1,33 @@
+package com.example.Task_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// outcome of one item of /tasks/batch; "index" is the position of the item in the request
+@Getter
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Status { CREATED, UPDATED, FAILED }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BatchItemResult updated(int index, Long id) {
+        return new BatchItemResult(index, id, Status.UPDATED, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        return new BatchItemResult(index, id, Status.FAILED, error);
+    }
+}
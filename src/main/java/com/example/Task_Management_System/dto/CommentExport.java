@@ -0,0 +1,11 @@
+package com.example.Task_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CommentExport(Long id, @JsonIgnore Long taskId, Long authorId, String content,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
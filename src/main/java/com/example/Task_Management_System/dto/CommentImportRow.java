@@ -0,0 +1,18 @@
+package com.example.Task_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentImportRow {
+    private String author;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -1,10 +1,13 @@
 package com.example.Task_Management_System.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +17,22 @@ public class CommentResp {
     private String content;
     private String author;
     private String task;
-    private String createdAt;
-    private String updatedAt;
+    @JsonSerialize(using = TimestampSerializer.class, nullsUsing = TimestampSerializer.Nulls.class)
+    private LocalDateTime createdAt;
+    @JsonSerialize(using = TimestampSerializer.class, nullsUsing = TimestampSerializer.Nulls.class)
+    private LocalDateTime updatedAt;
+
+    // JPQL constructor projection, see CommentRepository.SELECT_COMMENT_RESP
+    public CommentResp(Long id, String content,
+                       Long authorId, String authorFirstName, String authorLastName,
+                       Long taskId, String taskTitle,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.content = content;
+        this.author = ResponseFormat.person(authorId, authorFirstName, authorLastName);
+        this.task = "id: " + taskId + ", title: " + taskTitle;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
 
@@ -0,0 +1,20 @@
+package com.example.Task_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+// one page of a keyset listing; nextCursor is null on the last page
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.Task_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// "rejected" lists at most app.import.max-reported-rejects rows, "rejectedCount" counts all of them
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "rejected")
+public class ImportReport {
+    private String format;
+    private long rowsRead;
+    private long tasksImported;
+    private long commentsImported;
+    private long rejectedCount;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<RejectedRow> rejected;
+
+    public record RejectedRow(long line, String reason) {
+    }
+}
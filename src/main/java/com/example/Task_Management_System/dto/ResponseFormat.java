@@ -0,0 +1,32 @@
+package com.example.Task_Management_System.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// text shapes shared by the *Resp projections and ResponseMapper
+// (timestamps are rendered by Timestamps / TimestampSerializer)
+public final class ResponseFormat {
+
+    private ResponseFormat() {
+    }
+
+    public static String person(Long id, String firstName, String lastName) {
+        return "id: " + id + ", name: " + firstName + ", surname: " + lastName;
+    }
+
+    // 64 bits of SHA-256 over the parts: the content half of an ETag
+    public static String digest(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.Task_Management_System.dto;
+
+import com.example.Task_Management_System.model.Comment;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.User;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+// entity -> *Resp for the few places that already hold an entity; listings use the constructor projections.
+// Associations that are not loaded are rendered as ids / UserResp.LAZY instead of being fetched.
+public final class ResponseMapper {
+
+    private ResponseMapper() {
+    }
+
+    public static TaskResp toResponse(Task task) {
+        TaskResp response = new TaskResp();
+        response.setId(task.getId());
+        response.setTitle(task.getTitle());
+        response.setDescription(task.getDescription());
+        response.setStatus(task.getStatus());
+        response.setPriority(task.getPriority());
+        response.setCreatedAt(task.getCreatedAt());
+        response.setUpdatedAt(task.getUpdatedAt());
+        response.setVersion(task.getVersion());
+        if (Hibernate.isInitialized(task.getAuthor())) {
+            User author = task.getAuthor();
+            response.setAuthor(ResponseFormat.person(author.getId(), author.getFirstName(), author.getLastName()));
+        } else {
+            response.setAuthor("id: " + task.getAuthorId());
+        }
+        if (Hibernate.isInitialized(task.getExecutor())) {
+            User executor = task.getExecutor();
+            if (executor != null) {
+                response.setExecutor(ResponseFormat.person(executor.getId(), executor.getFirstName(), executor.getLastName()));
+            } else {
+                response.setExecutor("no executor assigned");
+            }
+        } else {
+            response.setExecutor("id: " + task.getExecutorId());
+        }
+        response.setComments(task.getCommentCount() + " comment(s)");
+        return response;
+    }
+
+    public static UserResp toResponse(User user) {
+        UserResp resp = new UserResp();
+        resp.setId(user.getId());
+        resp.setFirstName(user.getFirstName());
+        resp.setLastName(user.getLastName());
+        resp.setEmail(user.getEmail());
+        resp.setRole(user.getRole());
+        //Выделение методов: Созданы два вспомогательных метода getTaskList и getCommentList.
+        // Эти методы принимают список задач или комментариев и сообщение для случая, когда данные загружаются лениво.
+        resp.setAsAuthor(getTaskList(user.getAuthoredTasks(), UserResp.LAZY));
+        resp.setAsExecutor(getTaskList(user.getExecutedTasks(), UserResp.LAZY));
+        resp.setComments(getCommentList(user.getComments(), UserResp.LAZY));
+
+        return resp;
+    }
+
+    private static List<String> getTaskList(List<Task> tasks, String lazyMessage) {
+        if (Hibernate.isInitialized(tasks)) {
+            return tasks.stream()
+                    .map(t -> "id: " + t.getId() + ", title: " + t.getTitle())
+                    .toList();
+        } else {
+            return List.of(lazyMessage);
+        }
+    }
+
+    private static List<String> getCommentList(List<Comment> comments, String lazyMessage) {
+        if (Hibernate.isInitialized(comments)) {
+            return comments.stream()
+                    .map(c -> "id: " + c.getId() + ", to task: " + c.getTaskId())
+                    .toList();
+        } else {
+            return List.of(lazyMessage);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Task_Management_System.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// one "data:" line of GET /tasks/events; "id" is the outbox message id, also the SSE event id used by Last-Event-ID
+public record TaskEvent(long id,
+                        Type type,
+                        Long taskId,
+                        Long authorId,
+                        Long executorId,
+                        // set when the executor changed, so the old executor hears the task is gone
+                        Long previousExecutorId,
+                        // null for comment events: they leave the task's version as it is
+                        Long version,
+                        @JsonSerialize(using = TimestampSerializer.class) LocalDateTime at) implements Serializable {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED, COMMENT_ADDED, COMMENT_UPDATED, COMMENT_DELETED
+    }
+}
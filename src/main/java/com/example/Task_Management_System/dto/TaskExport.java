@@ -0,0 +1,21 @@
+package com.example.Task_Management_System.dto;
+
+import com.example.Task_Management_System.model.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// one line of GET /tasks/export: plain ids and ISO timestamps, meant for machines rather than the UI
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskExport(Long id, String title, String description, Task.Status status, Task.Priority priority,
+                         Long authorId, Long executorId, int commentCount,
+                         LocalDateTime createdAt, LocalDateTime updatedAt,
+                         List<CommentExport> comments) {
+
+    public static TaskExport of(Task task, List<CommentExport> comments) {
+        return new TaskExport(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+                task.getAuthorId(), task.getExecutorId(), task.getCommentCount(),
+                task.getCreatedAt(), task.getUpdatedAt(), comments);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.Task_Management_System.dto;
+
+import com.example.Task_Management_System.model.Task;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// one task of /tasks/import; users are referenced by email, createdAt defaults to the import time
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskImportRow {
+    private String title;
+    private String description;
+    private Task.Status status;
+    private Task.Priority priority;
+    private String author;
+    private String executor;
+    private LocalDateTime createdAt;
+    private List<CommentImportRow> comments = new ArrayList<>();
+
+    public TaskReq toTaskReq() {
+        return new TaskReq(title, description, status, priority, null);
+    }
+}
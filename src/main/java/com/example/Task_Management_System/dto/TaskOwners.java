@@ -0,0 +1,5 @@
+package com.example.Task_Management_System.dto;
+
+// see TaskRepository.findOwnersById
+public record TaskOwners(Long id, Long authorId, Long executorId, Long version) {
+}
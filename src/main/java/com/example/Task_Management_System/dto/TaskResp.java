@@ -1,13 +1,18 @@
 package com.example.Task_Management_System.dto;
 
 import com.example.Task_Management_System.model.Task;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
 @Setter
 @Getter
 @NoArgsConstructor
 @ToString
-public class TaskResp {
+public class TaskResp implements Serializable {
     private Long id;
     private String title;
     private String description;
@@ -16,6 +21,44 @@ public class TaskResp {
     private String author;
     private String executor;
     private String comments;
-    private String createdAt;
-    private String updatedAt;
+    // ids behind "author"/"executor", used to track cache dependencies
+    @JsonIgnore
+    private Long authorId;
+    @JsonIgnore
+    private Long executorId;
+    // first part of the ETag, see etag()
+    @JsonIgnore
+    private Long version;
+    @JsonSerialize(using = TimestampSerializer.class, nullsUsing = TimestampSerializer.Nulls.class)
+    private LocalDateTime createdAt;
+    @JsonSerialize(using = TimestampSerializer.class, nullsUsing = TimestampSerializer.Nulls.class)
+    private LocalDateTime updatedAt;
+
+    // JPQL constructor projection, see TaskRepository.SELECT_TASK_RESP
+    public TaskResp(Long id, String title, String description, Task.Status status, Task.Priority priority,
+                    Long authorId, String authorFirstName, String authorLastName,
+                    Long executorId, String executorFirstName, String executorLastName,
+                    int commentCount, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.author = ResponseFormat.person(authorId, authorFirstName, authorLastName);
+        this.authorId = authorId;
+        this.executorId = executorId;
+        this.executor = executorId == null
+                ? "no executor assigned"
+                : ResponseFormat.person(executorId, executorFirstName, executorLastName);
+        this.comments = commentCount + " comment(s)";
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // strong ETag "<version>-<digest>": the version covers the task's own columns, the digest
+    // what other rows contribute (names of author and executor, comment count)
+    public String etag() {
+        return version + "-" + ResponseFormat.digest(author, executor, comments);
+    }
 }
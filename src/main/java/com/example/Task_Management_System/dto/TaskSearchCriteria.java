@@ -0,0 +1,60 @@
+package com.example.Task_Management_System.dto;
+
+import com.example.Task_Management_System.model.Task;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.beans.PropertyEditorSupport;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// GET /tasks/criteria?authorId=1&status=ON_HOLD,IN_PROGRESS&createdFrom=2025-01-01T00:00:00
+// every filter is optional; only the supplied ones end up in the WHERE clause.
+// Bounds take an ISO date-time or a date: a date is the whole day: from its start in "...From", up to its end in "...To"
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class TaskSearchCriteria {
+    private Long authorId;
+    private Long executorId;
+    private List<Task.Status> status;
+    private List<Task.Priority> priority;
+
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private LocalDateTime updatedFrom;
+    private LocalDateTime updatedTo;
+
+    public static final String[] LOWER_BOUNDS = {"createdFrom", "updatedFrom"};
+    public static final String[] UPPER_BOUNDS = {"createdTo", "updatedTo"};
+
+    // registered per bound field by TaskController
+    public static PropertyEditorSupport boundEditor(boolean upper) {
+        return new PropertyEditorSupport() {
+            @Override
+            public void setAsText(String text) {
+                setValue(parseBound(text, upper));
+            }
+        };
+    }
+
+    static LocalDateTime parseBound(String text, boolean upper) {
+        if (text == null || text.isBlank()) return null;
+        String value = text.trim();
+        try {
+            if (value.indexOf('T') < 0) {
+                LocalDate date = LocalDate.parse(value);
+                // "...To" is exclusive (TaskSpecifications.between): the day ends where the next one starts
+                return upper ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expected yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss, got " + text, e);
+        }
+    }
+}
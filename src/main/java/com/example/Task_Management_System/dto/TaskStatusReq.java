@@ -0,0 +1,17 @@
+package com.example.Task_Management_System.dto;
+
+import com.example.Task_Management_System.model.Task;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusReq {
+    @NotNull
+    private Task.Status status;
+}
@@ -0,0 +1,9 @@
+package com.example.Task_Management_System.dto;
+
+// one line of UserResp.asExecutor, see TaskRepository.findTitlesByExecutorId
+public record TaskTitle(Long id, String title) {
+
+    public String line() {
+        return "id: " + id + ", title: " + title;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.Task_Management_System.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes response timestamps as "yyyy-MM-dd HH:mm:ss" or, when the request has
+ * ?timeFormat=epoch, as epoch milliseconds so big list responses skip text formatting.
+ * The format is picked at serialization time, so cached DTOs serve both.
+ */
+public class TimestampSerializer extends JsonSerializer<LocalDateTime> {
+
+    public static final String PARAM = "timeFormat";
+    public static final String EPOCH = "epoch";
+    private static final String ATTRIBUTE = TimestampSerializer.class.getName() + ".epoch";
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[Timestamps.TEXT_LENGTH]);
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (epochRequested()) {
+            gen.writeNumber(Timestamps.epochMillis(value));
+            return;
+        }
+        char[] buf = BUFFER.get();
+        Timestamps.writeText(value, buf);
+        gen.writeString(buf, 0, Timestamps.TEXT_LENGTH);
+    }
+
+    // resolved once per request and remembered as a request attribute
+    static boolean epochRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return false;
+        Object cached = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached == null) {
+            Object request = attributes.resolveReference(RequestAttributes.REFERENCE_REQUEST);
+            cached = request instanceof jakarta.servlet.ServletRequest servletRequest
+                    && EPOCH.equals(servletRequest.getParameter(PARAM));
+            attributes.setAttribute(ATTRIBUTE, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Boolean) cached;
+    }
+
+    // "updatedAt": "not updated" in text mode, null in epoch mode
+    public static class Nulls extends JsonSerializer<Object> {
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (epochRequested()) {
+                gen.writeNull();
+            } else {
+                gen.writeString(Timestamps.NOT_UPDATED);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.Task_Management_System.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * The one place that renders entity timestamps for responses.
+ * Text form is "yyyy-MM-dd HH:mm:ss" written digit by digit into a caller-supplied buffer,
+ * so a row costs no formatter, no ZonedDateTime and no intermediate String.
+ */
+public final class Timestamps {
+
+    public static final String NOT_UPDATED = "not updated";
+    public static final int TEXT_LENGTH = 19;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private Timestamps() {
+    }
+
+    // fills buf[0..19) with "yyyy-MM-dd HH:mm:ss" (years 0..9999)
+    public static void writeText(LocalDateTime t, char[] buf) {
+        int year = t.getYear();
+        buf[0] = digit(year / 1000);
+        buf[1] = digit(year / 100);
+        buf[2] = digit(year / 10);
+        buf[3] = digit(year);
+        buf[4] = '-';
+        twoDigits(buf, 5, t.getMonthValue());
+        buf[7] = '-';
+        twoDigits(buf, 8, t.getDayOfMonth());
+        buf[10] = ' ';
+        twoDigits(buf, 11, t.getHour());
+        buf[13] = ':';
+        twoDigits(buf, 14, t.getMinute());
+        buf[16] = ':';
+        twoDigits(buf, 17, t.getSecond());
+    }
+
+    public static String text(LocalDateTime t) {
+        if (t == null) return NOT_UPDATED;
+        char[] buf = new char[TEXT_LENGTH];
+        writeText(t, buf);
+        return new String(buf);
+    }
+
+    // timestamps are stored as local date-time of the server zone, like java.util.Date before
+    public static long epochMillis(LocalDateTime t) {
+        ZoneOffset offset = ZONE.getRules().getOffset(t);
+        return t.toEpochSecond(offset) * 1000 + t.getNano() / 1_000_000;
+    }
+
+    private static void twoDigits(char[] buf, int at, int value) {
+        buf[at] = digit(value / 10);
+        buf[at + 1] = digit(value);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value % 10);
+    }
+}
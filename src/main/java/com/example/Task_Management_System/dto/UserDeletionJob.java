@@ -0,0 +1,19 @@
+package com.example.Task_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// state of DELETE /users/{id}/delete?async=true, polled at GET /users/deletions/{jobId}
+@Getter
+@AllArgsConstructor
+public class UserDeletionJob {
+    private String jobId;
+    private Long userId;
+    private Status status;
+    private UserDeletionReport report;
+    private String error;
+
+    public enum Status {
+        RUNNING, DONE, FAILED
+    }
+}
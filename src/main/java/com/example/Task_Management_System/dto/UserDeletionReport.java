@@ -0,0 +1,17 @@
+package com.example.Task_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// row counts of one user deletion
+@Getter
+@AllArgsConstructor
+@ToString
+public class UserDeletionReport {
+    private Long userId;
+    private long tasksUnassigned;
+    private long tasksDeleted;
+    private long commentsDeleted;
+    private long durationMillis;
+}
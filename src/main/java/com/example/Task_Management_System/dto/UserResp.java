@@ -2,15 +2,20 @@ package com.example.Task_Management_System.dto;
 
 import com.example.Task_Management_System.model.User;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
 @ToString
-public class UserResp {
+public class UserResp implements Serializable {
+    public static final String LAZY = "undefined: loaded lazily";
+
     private Long id;
     private String firstName;
     private String lastName;
@@ -19,4 +24,21 @@ public class UserResp {
     private List<String> asAuthor;
     private List<String> asExecutor;
     private List<String> comments;
+
+    // JPQL constructor projection, see UserRepository.SELECT_USER_RESP; relations are not selected
+    public UserResp(Long id, String firstName, String lastName, String email, User.Role role) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.role = role;
+        this.asAuthor = List.of(LAZY);
+        this.asExecutor = List.of(LAZY);
+        this.comments = List.of(LAZY);
+    }
+
+    // users have no version column: the ETag is a digest of everything the response shows
+    public String etag() {
+        return ResponseFormat.digest(id, firstName, lastName, email, role, asAuthor, asExecutor, comments);
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.Task_Management_System.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
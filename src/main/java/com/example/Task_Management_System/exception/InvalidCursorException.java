@@ -0,0 +1,7 @@
+package com.example.Task_Management_System.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
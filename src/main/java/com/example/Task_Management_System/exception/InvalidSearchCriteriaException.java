@@ -0,0 +1,7 @@
+package com.example.Task_Management_System.exception;
+
+public class InvalidSearchCriteriaException extends RuntimeException {
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Task_Management_System.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
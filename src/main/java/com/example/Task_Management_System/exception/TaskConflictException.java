@@ -0,0 +1,7 @@
+package com.example.Task_Management_System.exception;
+
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
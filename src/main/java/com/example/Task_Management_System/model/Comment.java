@@ -6,7 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.Hibernate;
 
-import java.util.Date;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
@@ -15,9 +15,14 @@ import java.util.Objects;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {     // created by db/migration/V2__task_comment_indexes.sql
+        @Index(name = "comment_task_created_idx", columnList = "task_id, created_at"),
+        @Index(name = "comment_author_created_idx", columnList = "author_id, created_at")
+})
 public class Comment {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,12 +44,10 @@ public class Comment {
     @NotBlank
     private String content;
 
-    @Temporal(TemporalType.TIMESTAMP)
     @NotNull
-    private Date createdAt;
+    private LocalDateTime createdAt;
 
-    @Temporal(TemporalType.TIMESTAMP)
-    private Date updatedAt;
+    private LocalDateTime updatedAt;
 
     public void setAuthor(User author) {
         author.getComments().add(this);
@@ -0,0 +1,53 @@
+package com.example.Task_Management_System.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// a task or comment change waiting for OutboxRelay; the row is deleted once every consumer took it,
+// or kept with dead_at set once app.outbox.max-attempts is used up
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "outbox_message_task_idx", columnList = "task_id, id"))   // V8__outbox_retry.sql
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_message_seq")
+    @SequenceGenerator(name = "outbox_message_seq", allocationSize = 1)    // matches V7__outbox_sequence_step.sql
+    private Long id;
+
+    // TaskEvent.Type name, e.g. STATUS_CHANGED
+    @Column(nullable = false, length = 32)
+    private String eventType;
+
+    // Messages of one task are delivered in id order. The id is drawn when the message is saved, and every
+    // writer has locked the task row by then (UPDATE/DELETE flushed first), so on one task the ids of two
+    // instances follow their commit order. A pooled allocationSize would hand out ids reserved earlier.
+    @Column(nullable = false)
+    private Long taskId;
+
+    // JSON: taskId, authorId, executorId, previousExecutorId, version
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // failed deliveries so far, see app.outbox.max-attempts
+    @Column(nullable = false)
+    private int attempts;
+
+    // the relay skips the message until then; pushed back exponentially after each failure
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // dead letter: not relayed anymore, later messages of the task go on
+    private LocalDateTime deadAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -6,7 +6,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
@@ -15,12 +17,19 @@ import java.util.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-//@Table(indexes = {
-//        @Index(name = "task_author_idx", columnList = "author")
-//})
+@DynamicUpdate   // an update writes the changed columns only, e.g. never a stale comment_count
+@Table(indexes = {     // created by db/migration/V2__task_comment_indexes.sql and V9__task_status_priority_keyset_indexes.sql
+        @Index(name = "task_author_created_idx", columnList = "author_id, created_at desc, id desc"),
+        @Index(name = "task_executor_created_idx", columnList = "executor_id, created_at desc, id desc"),
+        @Index(name = "task_status_created_idx", columnList = "status, created_at desc, id desc"),
+        @Index(name = "task_status_priority_created_idx", columnList = "status, priority, created_at"),
+        @Index(name = "task_priority_created_id_idx", columnList = "priority, created_at desc, id desc"),
+        @Index(name = "task_created_id_idx", columnList = "created_at desc, id desc")
+})
 public class Task {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", allocationSize = 50)   // matches "increment by 50" in V1__init_schema.sql
     private Long id;
 
     @NotBlank
@@ -60,11 +69,20 @@ public class Task {
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
-    @Temporal(TemporalType.TIMESTAMP)
-    private Date createdAt;
+    // maintained by CommentService so reads never have to load the comments collection
+    @Column(nullable = false)
+    @Builder.Default
+    private int commentCount = 0;
+
+    // part of the keyset cursor, see TaskCursor
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
 
-    @Temporal(TemporalType.TIMESTAMP)
-    private Date updatedAt;
+    // optimistic lock: concurrent updates are merged or rejected in TaskService.updateTask
+    @Version
+    private Long version;
 
     public HashSet<String> fieldsChanged(Task task){
         HashSet<String> fieldsList = new HashSet<>();
@@ -0,0 +1,58 @@
+package com.example.Task_Management_System.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// editable fields of a task as they were at "version", see TaskService.updateTask
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TaskRevision.Key.class)
+public class TaskRevision {
+    @Id
+    private Long taskId;
+
+    @Id
+    private Long version;
+
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Priority priority;
+
+    private Long executorId;
+
+    public static TaskRevision of(Task task) {
+        return TaskRevision.builder()
+                .taskId(task.getId())
+                .version(task.getVersion())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .executorId(task.getExecutor() == null ? null : task.getExecutor().getId())
+                .build();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long taskId;
+        private Long version;
+    }
+}
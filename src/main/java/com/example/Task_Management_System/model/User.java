@@ -24,7 +24,8 @@ import java.util.*;
 })
 public class User implements UserDetails {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_table_seq")
+    @SequenceGenerator(name = "user_table_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
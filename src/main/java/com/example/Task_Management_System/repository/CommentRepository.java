@@ -1,20 +1,54 @@
 package com.example.Task_Management_System.repository;
 
+import com.example.Task_Management_System.dto.CommentExport;
+import com.example.Task_Management_System.dto.CommentResp;
 import com.example.Task_Management_System.model.Comment;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    @EntityGraph(attributePaths = {"author", "task"})
-    List<Comment> findAllByTaskId(Long taskId, Pageable pageable);
+    // read side: exactly the columns CommentResp shows, no managed entities
+    String SELECT_COMMENT_RESP = "SELECT new com.example.Task_Management_System.dto.CommentResp(" +
+            "c.id, c.content, a.id, a.firstName, a.lastName, t.id, t.title, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.author a JOIN c.task t ";
 
+    @Query(SELECT_COMMENT_RESP + "WHERE c.taskId = ?1")
+    List<CommentResp> findRespByTaskId(Long taskId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"author", "task"})
-    List<Comment> findAllByAuthorId(Long authorId, Pageable pageable);
+    @Query(SELECT_COMMENT_RESP + "WHERE c.authorId = ?1")
+    List<CommentResp> findRespByAuthorId(Long authorId, Pageable pageable);
+
+    @Query(SELECT_COMMENT_RESP)
+    List<CommentResp> findAllResp(Pageable pageable);
+
+    // comments of one export chunk, grouped by task
+    @Query("SELECT new com.example.Task_Management_System.dto.CommentExport(" +
+            "c.id, c.taskId, c.authorId, c.content, c.createdAt, c.updatedAt) " +
+            "FROM Comment c WHERE c.taskId IN ?1 ORDER BY c.taskId, c.id")
+    List<CommentExport> findExportByTaskIdIn(Collection<Long> taskIds);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.authorId = ?1")
+    List<Long> findIdsByAuthorId(Long authorId, Pageable pageable);
+
+    @Query("SELECT DISTINCT c.taskId FROM Comment c WHERE c.id IN ?1")
+    List<Long> findTaskIdsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.id IN ?1")
+    int deleteByIds(Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.taskId IN ?1")
+    int deleteByTaskIds(Collection<Long> taskIds);
 }
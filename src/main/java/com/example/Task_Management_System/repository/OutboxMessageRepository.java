@@ -0,0 +1,31 @@
+package com.example.Task_Management_System.repository;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // The relay's next batch: due messages whose task has no earlier message still backing off.
+    // Rows stay locked until its transaction ends, so a relay on another instance waits for them
+    // instead of overtaking older messages of the same task.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT m FROM OutboxMessage m
+            WHERE m.deadAt IS NULL AND m.nextAttemptAt <= :now
+              AND NOT EXISTS (SELECT 1 FROM OutboxMessage e
+                              WHERE e.taskId = m.taskId AND e.id < m.id
+                                AND e.deadAt IS NULL AND e.nextAttemptAt > :now)
+            ORDER BY m.id
+            """)
+    List<OutboxMessage> lockDue(@Param("now") LocalDateTime now, Limit limit);
+}
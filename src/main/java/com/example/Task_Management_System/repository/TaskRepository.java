@@ -1,49 +1,126 @@
 package com.example.Task_Management_System.repository;
 
+import com.example.Task_Management_System.dto.TaskOwners;
+import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.dto.TaskTitle;
 import com.example.Task_Management_System.model.Task.Priority;
 import com.example.Task_Management_System.model.Task;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findAllByAuthorId(Long authorId, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskSearchRepository {
+
+    // read side: exactly the columns TaskResp shows, no managed entities
+    String SELECT_TASK_RESP = "SELECT new com.example.Task_Management_System.dto.TaskResp(" +
+            "t.id, t.title, t.description, t.status, t.priority, " +
+            "a.id, a.firstName, a.lastName, e.id, e.firstName, e.lastName, " +
+            "t.commentCount, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Task t JOIN t.author a LEFT JOIN t.executor e ";
+
+    @Query(SELECT_TASK_RESP + "WHERE t.authorId = ?1")
+    List<TaskResp> findRespByAuthorId(Long authorId, Pageable pageable);
+
+    @Query(SELECT_TASK_RESP + "WHERE t.executorId = ?1")
+    List<TaskResp> findRespByExecutorId(Long executorId, Pageable pageable);
+
+    @Query(SELECT_TASK_RESP + "WHERE t.status = ?1")
+    List<TaskResp> findRespByStatus(Task.Status status, Pageable pageable);
+
+    @Query(SELECT_TASK_RESP + "WHERE t.priority = ?1")
+    List<TaskResp> findRespByPriority(Priority priority, Pageable pageable);
 
-    List<Task> findAllByExecutorId(Long executorId, Pageable pageable);
+    @Query(SELECT_TASK_RESP + "WHERE t.id = ?1")
+    Optional<TaskResp> findRespById(Long id);
 
-    List<Task> findAllByStatus(Task.Status status, Pageable pageable);
+    // forward-only cursor for /tasks/export: rows arrive EXPORT_FETCH_SIZE at a time,
+    // must be consumed inside a transaction and closed
+    String EXPORT_FETCH_SIZE = "500";
 
-    List<Task> findAllByPriority(Priority priority, Pageable pageable);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAllByOrderById();
 
-    @Query("SELECT t FROM Task t WHERE " +
-            "(:authorId IS NULL OR t.authorId = :authorId) AND " +
-            "(:executorId IS NULL OR t.executorId = :executorId) AND " +
-            "(:status IS NULL OR t.status = :status) AND " +
-            "(:priority IS NULL OR t.priority = :priority)")
-    List<Task> findByCriteria(@Param("authorId") Long authorId,
-                              @Param("executorId") Long executorId,
-                              @Param("status") Task.Status status,
-                              @Param("priority") Priority priority,
-                              Pageable pageable);
+    // who GET /tasks/events subscribers may filter by, for writers that did not load the task
+    @Query("SELECT new com.example.Task_Management_System.dto.TaskOwners(t.id, t.authorId, t.executorId, t.version) FROM Task t WHERE t.id = ?1")
+    Optional<TaskOwners> findOwnersById(Long id);
+
+    // the same for bulk writers; the rows stay locked, so outbox messages saved next follow the tasks' commit order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.Task_Management_System.dto.TaskOwners(t.id, t.authorId, t.executorId, t.version) FROM Task t WHERE t.id IN ?1")
+    List<TaskOwners> lockOwnersByIdIn(Collection<Long> ids);
+
+    // UserResp.asExecutor lines
+    @Query("SELECT new com.example.Task_Management_System.dto.TaskTitle(t.id, t.title) FROM Task t WHERE t.executorId = ?1")
+    List<TaskTitle> findTitlesByExecutorId(Long executorId);
+
+    // no collections are involved, so LIMIT/OFFSET is applied by the database
+    @Query(SELECT_TASK_RESP)
+    List<TaskResp> findAllResp(Pageable pageable);
 
     @Modifying
     @Transactional
-    @Query("UPDATE Task t SET t.executorId = NULL WHERE t.id IN ?1")
+    @Query("UPDATE Task t SET t.executorId = NULL, t.version = t.version + 1 WHERE t.id IN ?1")
     void clearExecutors(List<Long> idList);
 
-    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.comments JOIN FETCH t.author LEFT JOIN FETCH t.executor WHERE t.id = ?1")
-    Optional<Task> findFullTask(Long id);
+    // PATCH /tasks/{id}/status: the WHERE clause is the permission check, 0 rows means "not yours" or no such task
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.status = ?3, t.updatedAt = ?4, t.version = t.version + 1 " +
+            "WHERE t.id = ?1 AND (t.executorId = ?2 OR t.authorId = ?2)")
+    int updateStatus(Long id, Long userId, Task.Status status, LocalDateTime updatedAt);
+
+    // same with If-Match: a stale version only fails if the status itself changed since then
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.status = ?3, t.updatedAt = ?4, t.version = t.version + 1 " +
+            "WHERE t.id = ?1 AND (t.executorId = ?2 OR t.authorId = ?2) " +
+            "AND (t.version = ?5 OR t.status = ?3 OR t.status = " +
+            "(SELECT r.status FROM TaskRevision r WHERE r.taskId = t.id AND r.version = ?5))")
+    int updateStatusSince(Long id, Long userId, Task.Status status, LocalDateTime updatedAt, Long baseVersion);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + ?2 WHERE t.id = ?1")
+    void addToCommentCount(Long taskId, int delta);
+
+    // user deletion works on id chunks, see UserDeletionService
+    @Query("SELECT t.id FROM Task t WHERE t.executorId = ?1")
+    List<Long> findIdsByExecutorId(Long executorId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"author", "executor", "comments"})
-    Page<Task> findAllBy(Pageable pageable);
+    @Query("SELECT t.id FROM Task t WHERE t.authorId = ?1")
+    List<Long> findIdsByAuthorId(Long authorId, Pageable pageable);
+
+    // comments of the tasks must be deleted first
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Task t WHERE t.id IN ?1")
+    int deleteByIds(Collection<Long> ids);
+
+    // before deleting comments: their tasks' counters go down by the number deleted from each
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount - " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.taskId = t.id AND c.id IN ?1) " +
+            "WHERE t.id IN (SELECT c.taskId FROM Comment c WHERE c.id IN ?1)")
+    void subtractComments(Collection<Long> commentIds);
 }
@@ -0,0 +1,47 @@
+package com.example.Task_Management_System.repository;
+
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.TaskRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+// A revision is the state of a task at one version, so whoever records it first records the same row.
+// recordCurrent runs while the caller holds the task row lock (its own UPDATE or TaskRepository.lockOwnersByIdIn):
+// no other writer can insert the same key meanwhile, and NOT EXISTS sees every committed one.
+// recordIfAbsent may run before the lock is taken and skips an existing key with ON CONFLICT.
+@Repository
+public interface TaskRevisionRepository extends JpaRepository<TaskRevision, TaskRevision.Key> {
+
+    // the rows as they are now; the caller must hold their locks, see above
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO TaskRevision (taskId, version, title, description, status, priority, executorId) " +
+            "SELECT t.id, t.version, t.title, t.description, t.status, t.priority, t.executorId " +
+            "FROM Task t WHERE t.id IN ?1 " +
+            "AND NOT EXISTS (SELECT r.version FROM TaskRevision r WHERE r.taskId = t.id AND r.version = t.version)")
+    void recordCurrent(Collection<Long> taskIds);
+
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO TaskRevision (taskId, version, title, description, status, priority, executorId) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7) ON CONFLICT DO NOTHING")
+    void recordIfAbsent(Long taskId, Long version, String title, String description,
+                        Task.Status status, Task.Priority priority, Long executorId);
+
+    default void recordIfAbsent(TaskRevision revision) {
+        recordIfAbsent(revision.getTaskId(), revision.getVersion(), revision.getTitle(), revision.getDescription(),
+                revision.getStatus(), revision.getPriority(), revision.getExecutorId());
+    }
+
+    // only the last few versions are useful as a merge base
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskRevision r WHERE r.taskId IN ?1 " +
+            "AND r.version < (SELECT t.version FROM Task t WHERE t.id = r.taskId) - ?2")
+    void deleteOlderThanLast(Collection<Long> taskIds, long kept);
+}
@@ -0,0 +1,14 @@
+package com.example.Task_Management_System.repository;
+
+import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskSearchRepository {
+
+    // like findAll(spec, pageable), but projected into TaskResp and without a count query
+    List<TaskResp> search(Specification<Task> spec, Pageable pageable);
+}
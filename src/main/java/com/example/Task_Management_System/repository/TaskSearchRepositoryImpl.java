@@ -0,0 +1,54 @@
+package com.example.Task_Management_System.repository;
+
+import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResp> search(Specification<Task> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResp> query = cb.createQuery(TaskResp.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> author = root.join("author");
+        Join<Task, User> executor = root.join("executor", JoinType.LEFT);
+
+        // same column list as TaskRepository.SELECT_TASK_RESP
+        query.select(cb.construct(TaskResp.class,
+                root.get("id"), root.get("title"), root.get("description"), root.get("status"), root.get("priority"),
+                author.get("id"), author.get("firstName"), author.get("lastName"),
+                executor.get("id"), executor.get("firstName"), executor.get("lastName"),
+                root.get("commentCount"), root.get("createdAt"), root.get("updatedAt"), root.get("version")));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<TaskResp> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Task_Management_System.repository;
+
+import com.example.Task_Management_System.dto.TaskCursor;
+import com.example.Task_Management_System.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.time.LocalDateTime;
+
+public final class TaskSpecifications {
+
+    // keyset order; (created_at, id) is unique, so no row is skipped or repeated between pages
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("authorId"), authorId);
+    }
+
+    public static Specification<Task> hasExecutor(Long executorId) {
+        return (root, query, cb) -> cb.equal(root.get("executorId"), executorId);
+    }
+
+    public static Specification<Task> hasStatus(Task.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(Task.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> statusIn(Collection<Task.Status> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<Task.Priority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    // attribute is "createdAt" or "updatedAt"; either bound may be null (open range)
+    public static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from == null) return cb.lessThan(root.get(attribute), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), from), cb.lessThan(root.get(attribute), to));
+        };
+    }
+
+    // rows strictly after the cursor in KEYSET_SORT:
+    // createdAt <= :c AND (createdAt < :c OR (createdAt = :c AND id < :id)).
+    // The OR alone is no index range; the leading "createdAt <= :c" lets the (..., created_at desc, id desc)
+    // indexes start the scan at the cursor instead of filtering every row before it.
+    public static Specification<Task> after(TaskCursor cursor) {
+        if (cursor == null) return null;
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                        cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                                cb.lessThan(root.get("id"), cursor.id()))));
+    }
+}
@@ -1,17 +1,36 @@
 package com.example.Task_Management_System.repository;
 
+import com.example.Task_Management_System.dto.UserResp;
 import com.example.Task_Management_System.model.User;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // read side: profile columns only, password and relations are never loaded
+    String SELECT_USER_RESP = "SELECT new com.example.Task_Management_System.dto.UserResp(" +
+            "u.id, u.firstName, u.lastName, u.email, u.role) FROM User u ";
+
+    @Query(SELECT_USER_RESP)
+    List<UserResp> findAllResp();
+
+    @Query(SELECT_USER_RESP + "WHERE u.id = ?1")
+    Optional<UserResp> findRespById(Long id);
+
+    @Query(SELECT_USER_RESP + "WHERE u.email IN ?1")
+    List<UserResp> findRespByEmailIn(Collection<String> emails);
+
     @Cacheable(value = "users", key = "#email")
     Optional<User> findByEmail(String email);
 
@@ -25,4 +44,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneByIdWithTasks(Long id);
 
     Optional<User> findUserByEmail(String email);  // for caching purpose only
+
+    @Modifying
+    @Transactional
+    @CacheEvict(value = "users", key = "#email")
+    @Query("UPDATE User u SET u.password = ?2 WHERE u.email = ?1")
+    void updatePassword(String email, String encodedPassword);
+
+    // the user's tasks and comments must be gone already, see UserDeletionService
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM User u WHERE u.id = ?1")
+    int deleteUserById(Long id);
 }
@@ -0,0 +1,23 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// one line per task or comment change on the "audit" logger
+@Component
+public class AuditLogConsumer implements OutboxConsumer {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("audit");
+
+    @Override
+    public String name() {
+        return "audit-log";
+    }
+
+    @Override
+    public void accept(OutboxMessage message) {
+        AUDIT.info("{} {} at {}: {}", message.getId(), message.getEventType(), message.getCreatedAt(), message.getPayload());
+    }
+}
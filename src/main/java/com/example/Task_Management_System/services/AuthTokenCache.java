@@ -0,0 +1,102 @@
+package com.example.Task_Management_System.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.example.Task_Management_System.config.SharedCacheTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Already verified JWTs with the principal they resolved to.
+ * Lets JwtAuthenticationFilter skip signature check and user lookup for a token seen before.
+ * Entries live until the token's "exp"; tokens are stored as SHA-256 hashes only.
+ * The entries stay in this instance; only evictions go through the shared tier's invalidation
+ * channel, so a user changed on one instance is dropped on all of them.
+ */
+@Component
+public class AuthTokenCache {
+
+    public static final String NAME = "jwt_auth";
+
+    private final Cache<String, Entry> cache;
+    private final SharedCacheTier sharedTier;
+
+    public AuthTokenCache(@Value("${app.jwt.auth-cache.maximum-size:10000}") long maximumSize,
+                          SharedCacheTier sharedTier,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        this.sharedTier = sharedTier;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        // users changed on another instance
+        sharedTier.subscribe((name, key) -> {
+            if (!NAME.equals(name)) return;
+            if (key == null) cache.invalidateAll();
+            else evictLocal((String) key);
+        });
+    }
+
+    public UserDetails get(String token) {
+        Entry entry = cache.getIfPresent(hash(token));
+        return entry == null ? null : entry.user();
+    }
+
+    public void put(String token, UserDetails user, Date expiration) {
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) return;
+        cache.put(hash(token), new Entry(user, expiration.getTime()));
+    }
+
+    // called when the user is changed or deleted: cached principals must not outlive it on any instance
+    public void evictUser(String email) {
+        evictLocal(email);
+        sharedTier.evict(NAME, email);
+    }
+
+    private void evictLocal(String email) {
+        cache.asMap().values().removeIf(entry -> entry.user().getUsername().equals(email));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(UserDetails user, long expiresAtMillis) {
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            long millisLeft = Math.max(0, value.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(millisLeft);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
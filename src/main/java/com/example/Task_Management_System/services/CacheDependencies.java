@@ -0,0 +1,170 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.config.CacheConfig;
+import com.example.Task_Management_System.config.SharedCacheTier;
+import com.example.Task_Management_System.config.TwoLevelCache;
+import com.example.Task_Management_System.dto.TaskResp;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Which cached responses mention which entities, so a change evicts only the entries showing it
+ * instead of clearing a whole cache:
+ * "user_resp" of a user lists the titles of the tasks they execute,
+ * "tasks" of a task shows its author's and executor's names.
+ * Links are recorded in the SharedCacheTier when an entry is computed, so an instance also finds
+ * entries computed by other instances, and disappear with the entries.
+ * Evictions inside a transaction run after commit, so a concurrent read cannot cache the old state again;
+ * the same holds for the verified tokens of a changed user (AuthTokenCache).
+ * If the shared tier cannot be reached, the near-caches of this instance are dropped instead.
+ * Evicted keys are counted as "cache.dependency.evictions".
+ */
+@Component
+@Slf4j
+public class CacheDependencies {
+
+    private static final String TASK = "task:";
+    private static final String USER = "user:";
+
+    private final CacheManager cacheManager;
+    private final SharedCacheTier sharedTier;
+    private final AuthTokenCache authTokenCache;
+    private final Map<String, Counter> evictions = new HashMap<>();
+    private final Counter taskChanges;
+    private final Counter userChanges;
+
+    public CacheDependencies(CacheManager cacheManager, SharedCacheTier sharedTier, AuthTokenCache authTokenCache,
+                             MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.sharedTier = sharedTier;
+        this.authTokenCache = authTokenCache;
+        for (String name : new String[]{CacheConfig.TASKS, CacheConfig.USERS, CacheConfig.USER_RESP}) {
+            evictions.put(name, Counter.builder("cache.dependency.evictions")
+                    .description("Cache keys evicted because an entity they show was changed")
+                    .tag("cache", name)
+                    .register(meterRegistry));
+        }
+        this.taskChanges = changes(meterRegistry, "task");
+        this.userChanges = changes(meterRegistry, "user");
+        for (String name : new String[]{CacheConfig.TASKS, CacheConfig.USER_RESP}) {
+            Gauge.builder("cache.dependency.links", this, dependencies -> dependencies.linkCount(name))
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private double linkCount(String cacheName) {
+        try {
+            return sharedTier.linkCount(cacheName);
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static Counter changes(MeterRegistry meterRegistry, String entity) {
+        return Counter.builder("cache.dependency.changes")
+                .description("Entity changes that triggered targeted eviction")
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+
+    public void userRespCached(Long userId, Collection<Long> executedTaskIds) {
+        executedTaskIds.forEach(taskId -> sharedTier.link(CacheConfig.USER_RESP, userId, TASK + taskId));
+    }
+
+    public void taskCached(TaskResp resp) {
+        sharedTier.link(CacheConfig.TASKS, resp.getId(), USER + resp.getAuthorId());
+        if (resp.getExecutorId() != null) sharedTier.link(CacheConfig.TASKS, resp.getId(), USER + resp.getExecutorId());
+    }
+
+    // title or executor of a task changed: its own entry and every user_resp listing it;
+    // the new executor's user_resp does not list it yet, so it is passed in explicitly
+    public void taskChanged(Long taskId, Long newExecutorId) {
+        taskChanges.increment();
+        afterCommit(() -> {
+            Set<Object> userIds = new HashSet<>(sharedTier.dependents(CacheConfig.USER_RESP, TASK + taskId));
+            if (newExecutorId != null) userIds.add(newExecutorId);
+            evict(CacheConfig.TASKS, List.of(taskId));
+            evict(CacheConfig.USER_RESP, userIds);
+        });
+    }
+
+    // bulk delete: the tasks' own entries and the user_resp entries still listing them
+    public void tasksDeleted(Collection<Long> taskIds) {
+        taskChanges.increment(taskIds.size());
+        List<Long> keys = List.copyOf(taskIds);
+        afterCommit(() -> {
+            Set<Object> userIds = new HashSet<>();
+            for (Long taskId : keys) userIds.addAll(sharedTier.dependents(CacheConfig.USER_RESP, TASK + taskId));
+            evict(CacheConfig.TASKS, keys);
+            evict(CacheConfig.USER_RESP, userIds);
+        });
+    }
+
+    // counters such as "N comment(s)" changed, names and titles did not
+    public void tasksChanged(Collection<Long> taskIds) {
+        taskChanges.increment(taskIds.size());
+        List<Long> keys = List.copyOf(taskIds);
+        afterCommit(() -> evict(CacheConfig.TASKS, keys));
+    }
+
+    public void userRespChanged(Collection<Long> userIds) {
+        List<Long> keys = List.copyOf(userIds);
+        afterCommit(() -> evict(CacheConfig.USER_RESP, keys));
+    }
+
+    // profile changed or user deleted: pass every email the "users" cache and the tokens may hold the user under.
+    // Tokens go first: a request with an old token must not fill the cache with the old principal again.
+    public void userChanged(Long userId, String... emails) {
+        userChanges.increment();
+        Set<String> emailKeys = new HashSet<>(Arrays.asList(emails));
+        afterCommit(() -> {
+            emailKeys.forEach(authTokenCache::evictUser);
+            evict(CacheConfig.USER_RESP, List.of(userId));
+            evict(CacheConfig.USERS, emailKeys);
+            evict(CacheConfig.TASKS, sharedTier.dependents(CacheConfig.TASKS, USER + userId));
+        });
+    }
+
+    private void evict(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) return;
+        for (Object key : keys) {
+            if (key != null && cache.evictIfPresent(key)) evictions.get(cacheName).increment();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictSafely(action);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictSafely(action);
+            }
+        });
+    }
+
+    // the write has committed: a failed lookup of dependents must not turn it into an error response
+    private void evictSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Dependency eviction failed, dropping this instance's near-caches instead: {}", e.getMessage());
+            for (String name : new String[]{CacheConfig.TASKS, CacheConfig.USERS, CacheConfig.USER_RESP}) {
+                if (cacheManager.getCache(name) instanceof TwoLevelCache cache) cache.evictLocal(null);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.Task_Management_System.services;
 
 import com.example.Task_Management_System.dto.CommentReq;
 import com.example.Task_Management_System.dto.CommentResp;
+import com.example.Task_Management_System.dto.TaskEvent;
 import com.example.Task_Management_System.exception.CustomPermissionException;
 import com.example.Task_Management_System.exception.ResourceNotFoundException;
 import com.example.Task_Management_System.model.Comment;
@@ -10,21 +11,16 @@ import com.example.Task_Management_System.model.User;
 import com.example.Task_Management_System.repository.CommentRepository;
 import com.example.Task_Management_System.repository.TaskRepository;
 import com.example.Task_Management_System.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -35,7 +31,12 @@ public class CommentService {
     private final CommentRepository repository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final TaskEvents events;
 
+    @Caching(evict = {
+            @CacheEvict(value = "tasks", key = "#result.taskId"),
+            @CacheEvict(value = "user_resp", key = "#result.authorId")
+    })
     public Comment deleteOne(Long id, Authentication auth) {
         Comment comment = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("There is no Comment with id: " + id));
@@ -49,6 +50,9 @@ public class CommentService {
         }
 
         repository.deleteById(id);
+        taskRepository.addToCommentCount(comment.getTaskId(), -1);
+        taskRepository.findOwnersById(comment.getTaskId()).ifPresent(owners -> events.publish(TaskEvent.Type.COMMENT_DELETED,
+                comment.getTaskId(), owners.authorId(), owners.executorId(), null, null));
 
         return comment;    // for caching purpose only
     }
@@ -68,9 +72,13 @@ public class CommentService {
         }
 
         fromDB.setContent(newComment.getContent());
-        fromDB.setUpdatedAt(new Date());
+        fromDB.setUpdatedAt(LocalDateTime.now());
+        Comment saved = repository.save(fromDB);
 
-        return repository.save(fromDB).getId();
+        // nothing here writes the task row: lock it before the outbox message takes its id, see OutboxMessage.taskId
+        taskRepository.lockOwnersByIdIn(List.of(saved.getTaskId())).forEach(owners -> events.publish(
+                TaskEvent.Type.COMMENT_UPDATED, owners.id(), owners.authorId(), owners.executorId(), null, null));
+        return saved.getId();
     }
 
     @Caching(evict = {
@@ -87,9 +95,12 @@ public class CommentService {
         newComment.setTask(task);
         newComment.setContent(comment.getContent());
         newComment.setAuthor(author);
-        newComment.setCreatedAt(new Date());
+        newComment.setCreatedAt(LocalDateTime.now());
 
-        return repository.saveAndFlush(newComment);
+        Comment saved = repository.saveAndFlush(newComment);
+        taskRepository.addToCommentCount(task.getId(), 1);
+        events.publish(TaskEvent.Type.COMMENT_ADDED, task.getId(), task.getAuthorId(), task.getExecutorId(), null, null);
+        return saved;
     }
 
     private Long extractUserId(Authentication auth) {
@@ -101,52 +112,18 @@ public class CommentService {
         return user.getId();
     }
 
+    @Transactional(readOnly = true)
     public List<CommentResp> findAllByTaskId(Long taskId, Pageable pageable) {
-        List<Comment> commentList = repository.findAllByTaskId(taskId, pageable);
-        return commentList.stream().map(this::toResponse).toList();
+        return repository.findRespByTaskId(taskId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentResp> findAllByAuthorId(Long authorId, Pageable pageable) {
-        List<Comment> commentList = repository.findAllByAuthorId(authorId, pageable);
-        return commentList.stream().map(this::toResponse).toList();
+        return repository.findRespByAuthorId(authorId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentResp> findAllBy(Pageable pageable) {
-        List<Comment> commentList = repository.findAll(pageable).getContent();
-        return commentList.stream().map(this::toResponse).toList();
-    }
-
-    private CommentResp toResponse(Comment comment) {
-        CommentResp resp = new CommentResp();
-        resp.setId(comment.getId());
-        resp.setContent(comment.getContent());
-        resp.setCreatedAt(this.toLocalDateTime(comment.getCreatedAt()));
-        resp.setUpdatedAt(this.toLocalDateTime(comment.getUpdatedAt()));
-        if (Hibernate.isInitialized(comment.getAuthor())) {
-            User author = comment.getAuthor();
-            resp.setAuthor("id: " + author.getId()
-                    + ", name: " + author.getFirstName()
-                    + ", surname: " + author.getLastName());
-        } else {
-            resp.setAuthor("id: " + comment.getAuthorId());
-        }
-        if (Hibernate.isInitialized(comment.getTask())) {
-            Task task = comment.getTask();
-            resp.setTask("id: " + task.getId()
-                    + ", title: " + task.getTitle());
-        } else {
-            resp.setTask("id: " + comment.getTaskId());
-        }
-
-        return resp;
+        return repository.findAllResp(pageable);
     }
-
-    private String toLocalDateTime(Date date) {
-        if (date == null) return "not updated";
-        Instant instant = date.toInstant();
-        LocalDateTime localDateTime = instant.atZone(ZoneId.systemDefault()).toLocalDateTime();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return localDateTime.format(formatter);
-    }
-
 }
@@ -1,23 +1,34 @@
 package com.example.Task_Management_System.services;
 
+import com.example.Task_Management_System.config.ReplicaRoutingDataSource;
 import com.example.Task_Management_System.model.User;
 import com.example.Task_Management_System.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
 
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository repository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Optional<User> userOptional = repository.findByEmail(email);
+        // loads the "users" cache: see ReplicaRoutingDataSource.onPrimary
+        Optional<User> userOptional = ReplicaRoutingDataSource.onPrimary(() -> repository.findByEmail(email));
         return userOptional.orElseThrow(
                 () -> new UsernameNotFoundException("user not found with email :" + email));
     }
+
+    // called by DaoAuthenticationProvider after a login whose hash needs a higher cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        repository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof User entity) entity.setPassword(newPassword);
+        return user;
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Calls the OutboxConsumer beans of this application one after another on the relay thread.
+ * Stands in for a message broker: tests subscribe their own consumers at runtime.
+ */
+@Component
+public class InProcessOutboxBroker implements OutboxBroker {
+
+    private final List<OutboxConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+
+    public InProcessOutboxBroker(List<OutboxConsumer> consumers, MeterRegistry meterRegistry) {
+        this.consumers = new CopyOnWriteArrayList<>(consumers);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void subscribe(OutboxConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    public void unsubscribe(OutboxConsumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        for (OutboxConsumer consumer : consumers) {
+            Timer.builder("outbox.consumer")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry)
+                    .record(() -> consumer.accept(message));
+        }
+    }
+}
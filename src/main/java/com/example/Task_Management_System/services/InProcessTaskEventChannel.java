@@ -0,0 +1,27 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.TaskEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// app.cache.shared-tier=memory: there is only this instance to tell
+@Component
+@ConditionalOnProperty(name = "app.cache.shared-tier", havingValue = "memory", matchIfMissing = true)
+public class InProcessTaskEventChannel implements TaskEventChannel {
+
+    private final List<Consumer<TaskEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TaskEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskEvent> listener) {
+        listeners.add(listener);
+    }
+}
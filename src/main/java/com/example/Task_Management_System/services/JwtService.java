@@ -1,50 +1,87 @@
 package com.example.Task_Management_System.services;
 
+import com.example.Task_Management_System.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 @Slf4j
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
+    private final String keyId;
+    private final long expirationMillis;
+    // key material and parser are immutable and thread-safe: built once, not per token
+    private final SecretKey signKey;
+    private final Map<String, SecretKey> verificationKeys = new HashMap<>();
+    private final JwtParser parser;
+
+    private final Timer generateTimer;
+    private final Timer parseTimer;
+    private final Timer validateTimer;
+
+    public JwtService(JwtProperties properties, MeterRegistry meterRegistry) {
+        this.keyId = properties.getKeyId();
+        this.expirationMillis = properties.getExpiration().toMillis();
+        this.signKey = toKey(properties.getSecret());
+        properties.getVerificationKeys().forEach((kid, secret) -> verificationKeys.put(kid, toKey(secret)));
+        verificationKeys.put(keyId, signKey);
+
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyIdLocator())
+                .build();
+
+        this.generateTimer = timer(meterRegistry, "generate");
+        this.parseTimer = timer(meterRegistry, "parse");
+        this.validateTimer = timer(meterRegistry, "validate");
+    }
+
     public String extractUserEmail(String token){
         return extractAllClaims(token).getSubject();
     }
 
-    private Claims extractAllClaims(String token){
+    public Claims extractAllClaims(String token){
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parseTimer.record(() -> parser.parseSignedClaims(token).getPayload());
         } catch (JwtException e) {
             log.error("JWT exception" + e.getMessage());
             throw e;
         }
     }
 
-    private SecretKey getSignKey() {
+    private static SecretKey toKey(String secret) {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("jwt.operations")
+                .description("Time spent signing and verifying JWTs")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
     public String generateToken(String email) {
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))  //24 hours
-                .signWith(getSignKey())
-                .compact();
+        return generateTimer.record(() -> {
+            long now = System.currentTimeMillis();
+            return Jwts.builder()
+                    .header().keyId(keyId).and()
+                    .subject(email)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + expirationMillis))  //24 hours by default
+                    .signWith(signKey)
+                    .compact();
+        });
     }
 
     public boolean validateToken(final String token) {
@@ -53,7 +90,8 @@ public class JwtService {
             subToken = token.substring(7);
         }
         try {
-            Jwts.parser().verifyWith(getSignKey()).build().parseSignedClaims(subToken);
+            String jws = subToken;
+            validateTimer.record(() -> parser.parseSignedClaims(jws));
             return true;
         } catch (ExpiredJwtException ex) {
             log.error("JWT expired", ex);
@@ -66,5 +104,15 @@ public class JwtService {
         return false;
     }
 
-
+    // tokens issued before key rotation have no "kid" and are checked with the current key
+    private class KeyIdLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) return signKey;
+            SecretKey key = verificationKeys.get(kid);
+            if (key == null) throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+            return key;
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+
+// where OutboxRelay hands messages over; returning normally means the message may be deleted
+public interface OutboxBroker {
+
+    void publish(OutboxMessage message);
+}
@@ -0,0 +1,16 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+
+/**
+ * A side effect of task and comment writes (notifications, search indexing, audit...), run by
+ * OutboxRelay after the write committed. Delivery is at least once, in id order per task:
+ * a message may come again after a failure of any consumer, so accept() must be idempotent.
+ * Throwing makes the relay retry the message and hold back later messages of the same task.
+ */
+public interface OutboxConsumer {
+
+    String name();
+
+    void accept(OutboxMessage message);
+}
@@ -0,0 +1,173 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.model.OutboxMessage;
+import com.example.Task_Management_System.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves outbox_message rows to the OutboxBroker in the background, so a write costs one insert
+ * however many consumers there are.
+ * <p>
+ * Each batch of due messages is read oldest first and locked, handed to the broker message by message
+ * and deleted in the same transaction; every batch is a transaction of its own, apart from the writes
+ * that inserted the messages. A failed message stays, as do the later messages of its task, and is
+ * retried after app.outbox.retry-backoff, doubled per failure up to app.outbox.max-backoff. After
+ * app.outbox.max-attempts it becomes a dead letter: logged, kept with dead_at and last_error set,
+ * and no longer holding back its task.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+
+    private final OutboxMessageRepository repository;
+    private final OutboxBroker broker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+    // age of the oldest due message of the last batch: how far consumers are behind the writes
+    private volatile long lagMillis;
+
+    public OutboxRelay(OutboxMessageRepository repository,
+                       OutboxBroker broker,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.max-attempts:20}") int maxAttempts,
+                       @Value("${app.outbox.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.poll-interval:500ms}") Duration pollInterval) {
+        this.repository = repository;
+        this.broker = broker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.published = Counter.builder("outbox.relay.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.relay.dead-lettered")
+                .description("Messages given up after app.outbox.max-attempts, kept with dead_at set")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").register(meterRegistry);
+        TimeGauge.builder("outbox.relay.lag", this, TimeUnit.MILLISECONDS, relay -> relay.lagMillis)
+                .register(meterRegistry);
+    }
+
+    // polling starts once Flyway and the rest of the context are ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        long period = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::drainQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // relays batches until one comes back short; returns the number of messages delivered
+    public int drain() {
+        int total = 0;
+        Batch batch;
+        do {
+            batch = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            total += batch.delivered();
+        } while (batch.size() == batchSize);
+        return total;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying in {}", pollInterval, e);
+        }
+    }
+
+    private Batch relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = repository.lockDue(now, Limit.of(batchSize));
+        lagMillis = batch.isEmpty() ? 0 : Duration.between(batch.get(0).getCreatedAt(), now).toMillis();
+
+        Set<Long> heldBack = new HashSet<>();    // tasks with a failed message: their order must not change
+        List<Long> done = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            if (heldBack.contains(message.getTaskId())) continue;
+            try {
+                broker.publish(message);
+                published.increment();
+                done.add(message.getId());
+            } catch (RuntimeException e) {
+                failures.increment();
+                message.setAttempts(message.getAttempts() + 1);
+                String error = String.valueOf(e);
+                message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+                if (message.getAttempts() >= maxAttempts) {
+                    log.error("Outbox message {} ({} of task {}) failed {} times, moved to dead letters",
+                            message.getId(), message.getEventType(), message.getTaskId(), maxAttempts, e);
+                    deadLettered.increment();
+                    message.setDeadAt(now);
+                } else {
+                    Duration backoff = backoff(message.getAttempts());
+                    log.warn("Outbox message {} ({} of task {}) failed, retrying in {}",
+                            message.getId(), message.getEventType(), message.getTaskId(), backoff, e);
+                    message.setNextAttemptAt(now.plus(backoff));
+                    heldBack.add(message.getTaskId());
+                }
+            }
+        }
+        if (!done.isEmpty()) repository.deleteAllByIdInBatch(done);
+        return new Batch(batch.size(), done.size());
+    }
+
+    // retry-backoff, doubled per further failure, at most max-backoff
+    Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration backoff = retryBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private record Batch(int size, int delivered) {
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
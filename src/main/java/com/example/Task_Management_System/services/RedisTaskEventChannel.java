@@ -0,0 +1,60 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.TaskEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * app.cache.shared-tier=redis: events go out on CHANNEL through the listener container of the cache
+ * invalidations. The publishing instance hears its own messages too, so every instance sees the
+ * order Redis received them in. A failed publish throws: OutboxRelay then retries the message.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.shared-tier", havingValue = "redis")
+@Slf4j
+public class RedisTaskEventChannel implements TaskEventChannel {
+
+    public static final String CHANNEL = "tms:task-events";
+
+    private final RedisTemplate<String, Object> redis = new RedisTemplate<>();
+    private final RedisSerializer<Object> serializer = new JdkSerializationRedisSerializer();
+    private final List<Consumer<TaskEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisTaskEventChannel(RedisConnectionFactory connectionFactory,
+                                 RedisMessageListenerContainer cacheInvalidationListenerContainer) {
+        redis.setConnectionFactory(connectionFactory);
+        redis.setValueSerializer(serializer);
+        redis.afterPropertiesSet();
+        cacheInvalidationListenerContainer.addMessageListener((message, pattern) -> onMessage(message.getBody()),
+                new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public void publish(TaskEvent event) {
+        redis.convertAndSend(CHANNEL, event);
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void onMessage(byte[] body) {
+        if (serializer.deserialize(body) instanceof TaskEvent event) {
+            listeners.forEach(listener -> listener.accept(event));
+        } else {
+            log.warn("Ignoring a message on {} that is not a TaskEvent", CHANNEL);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.TaskEvent;
+
+import java.util.function.Consumer;
+
+// carries relayed task events to every instance, the publishing one included, in one order for all;
+// implementations: InProcessTaskEventChannel (single instance, tests), RedisTaskEventChannel
+public interface TaskEventChannel {
+
+    void publish(TaskEvent event);
+
+    void subscribe(Consumer<TaskEvent> listener);
+}
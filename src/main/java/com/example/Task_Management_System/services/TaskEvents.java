@@ -0,0 +1,373 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.TaskEvent;
+import com.example.Task_Management_System.model.OutboxMessage;
+import com.example.Task_Management_System.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GET /tasks/events: task changes pushed as server-sent events, for writes made on any instance.
+ * <p>
+ * publish() only writes the change to outbox_message in the writing transaction. This bean is also an
+ * OutboxConsumer: OutboxRelay hands every message to one instance, which passes it on through the
+ * TaskEventChannel to all of them, so subscribers hear about writes whichever instance they are
+ * connected to, within about app.outbox.relay.poll-interval. The event id is the outbox message id,
+ * the same on every instance.
+ * <p>
+ * Connections are async servlet requests, so an idle subscriber holds no thread. Publishing never
+ * blocks on a client: each subscriber has a bounded queue, and a subscriber whose queue overflows is
+ * disconnected. Sends block on slow sockets, so they run on an own pool (app.task-events.delivery-threads)
+ * instead of the shared application task executor; events and heartbeats of one subscriber go through one
+ * drain task, so the pool's queue never holds more than one task per subscriber. The browser reconnects with Last-Event-ID
+ * and the gap is replayed from the last app.task-events.history-size events; a client whose last event
+ * is no longer (or not yet, e.g. after a restart) kept gets a "reset" event and must reload what it shows.
+ */
+@Component
+@Slf4j
+public class TaskEvents implements OutboxConsumer, AutoCloseable {
+
+    private final ThreadPoolExecutor delivery;
+    private final OutboxMessageRepository outbox;
+    private final ObjectMapper objectMapper;
+    private final TaskEventChannel channel;
+    private final int bufferSize;
+    private final int historySize;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Counter published;
+    private final Counter dropped;
+
+    // guards everything below: events enter the history and reach the queues in one order
+    private final Object lock = new Object();
+    private final ArrayDeque<TaskEvent> history = new ArrayDeque<>();
+    // ids in history: a message relayed again after another consumer failed is sent only once
+    private final Set<Long> historyIds = new HashSet<>();
+    private final Set<Subscriber> unfiltered = new HashSet<>();
+    private final Map<Long, Set<Subscriber>> byAuthor = new HashMap<>();
+    private final Map<Long, Set<Subscriber>> byExecutor = new HashMap<>();
+    private int subscriberCount;
+
+    public TaskEvents(@Value("${app.task-events.delivery-threads:16}") int deliveryThreads,
+                      @Value("${app.task-events.delivery-queue:20000}") int deliveryQueue,
+                      @Value("${app.task-events.buffer-size:256}") int bufferSize,
+                      @Value("${app.task-events.history-size:10000}") int historySize,
+                      @Value("${app.task-events.timeout:30m}") Duration timeout,
+                      @Value("${app.task-events.heartbeat:25s}") Duration heartbeatInterval,
+                      MeterRegistry meterRegistry,
+                      OutboxMessageRepository outbox,
+                      ObjectMapper objectMapper,
+                      TaskEventChannel channel) {
+        this.delivery = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(deliveryQueue), daemonThreads("task-events-delivery"));
+        this.outbox = outbox;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        channel.subscribe(this::dispatch);
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.published = Counter.builder("task.events.published").register(meterRegistry);
+        this.dropped = Counter.builder("task.events.dropped")
+                .description("Subscribers disconnected because their buffer overflowed")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.events.subscribers", this, events -> events.subscriberCount);
+        meterRegistry.gauge("task.events.delivery.queued", delivery, pool -> pool.getQueue().size());
+
+        // comments keep proxies from closing idle streams and find clients that went away
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-events-heartbeat"));
+        long period = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::ping, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // called inside the writing transaction: nothing is relayed if it rolls back
+    public void publish(TaskEvent.Type type, Long taskId, Long authorId, Long executorId,
+                        Long previousExecutorId, Long version) {
+        TaskEvent event = new TaskEvent(0, type, taskId, authorId, executorId,
+                Objects.equals(previousExecutorId, executorId) ? null : previousExecutorId, version, null);
+        outbox.save(toOutboxMessage(event));
+    }
+
+    @Override
+    public String name() {
+        return "task-events";
+    }
+
+    // on the relay thread of whichever instance locked the message
+    @Override
+    public void accept(OutboxMessage message) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(message.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload of outbox message " + message.getId(), e);
+        }
+        channel.publish(new TaskEvent(message.getId(), TaskEvent.Type.valueOf(message.getEventType()),
+                message.getTaskId(), longOrNull(payload, "authorId"), longOrNull(payload, "executorId"),
+                longOrNull(payload, "previousExecutorId"), longOrNull(payload, "version"), message.getCreatedAt()));
+    }
+
+    private static Long longOrNull(JsonNode payload, String field) {
+        JsonNode value = payload.get(field);
+        return value == null || value.isNull() ? null : value.asLong();
+    }
+
+    private OutboxMessage toOutboxMessage(TaskEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", event.taskId());
+        payload.put("authorId", event.authorId());
+        payload.put("executorId", event.executorId());
+        payload.put("previousExecutorId", event.previousExecutorId());
+        payload.put("version", event.version());
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return OutboxMessage.builder()
+                    .eventType(event.type().name())
+                    .taskId(event.taskId())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(now)
+                    .nextAttemptAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);     // a map of longs always serializes
+        }
+    }
+
+    public SseEmitter subscribe(Long authorId, Long executorId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), authorId, executorId);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        // Until this method returns the emitter only buffers what is sent to it, so the replay costs
+        // no I/O under the lock and comes out before any event queued after add()
+        synchronized (lock) {
+            try {
+                if (lastEventId != null && !lastEventId.isBlank()) replay(subscriber, lastEventId.trim());
+            } catch (IOException e) {
+                subscriber.emitter.completeWithError(e);
+                return subscriber.emitter;
+            }
+            add(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    // Outbox ids are unique but have gaps and are not relayed strictly in id order (transactions commit
+    // in another order than they took their ids), so the gap is what follows the last seen event in history
+    private void replay(Subscriber subscriber, String lastEventId) throws IOException {
+        long after;
+        try {
+            after = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            subscriber.sendReset();
+            return;
+        }
+        if (!historyIds.contains(after)) {
+            subscriber.sendReset();
+            return;
+        }
+        List<TaskEvent> gap = new ArrayList<>();
+        boolean seen = false;
+        for (TaskEvent event : history) {
+            if (seen && subscriber.matches(event)) gap.add(event);
+            if (event.id() == after) seen = true;
+        }
+        if (gap.size() > bufferSize) {
+            subscriber.sendReset();     // more than a buffer behind: reloading is cheaper
+            return;
+        }
+        for (TaskEvent event : gap) subscriber.send(event);
+    }
+
+    private void dispatch(TaskEvent event) {
+        List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (lock) {
+            if (!historyIds.add(event.id())) return;
+            history.addLast(event);
+            if (history.size() > historySize) historyIds.remove(history.removeFirst().id());
+
+            offer(unfiltered, event, overflowed);
+            if (event.authorId() != null) offer(byAuthor.get(event.authorId()), event, overflowed);
+            if (event.executorId() != null) offer(byExecutor.get(event.executorId()), event, overflowed);
+            if (event.previousExecutorId() != null) offer(byExecutor.get(event.previousExecutorId()), event, overflowed);
+        }
+        published.increment();
+        for (Subscriber subscriber : overflowed) disconnectSlow(subscriber);
+    }
+
+    private void offer(Set<Subscriber> subscribers, TaskEvent event, List<Subscriber> overflowed) {
+        if (subscribers == null) return;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.closed || !subscriber.matches(event)) continue;
+            // the sets are being iterated: overflowed subscribers are closed after the lock is released
+            if (!subscriber.queue.offer(event) || !subscriber.scheduleDrain()) {
+                subscriber.closed = true;
+                overflowed.add(subscriber);
+            }
+        }
+    }
+
+    // a subscriber with both filters is indexed by author only: it cannot match without the author
+    private void add(Subscriber subscriber) {
+        if (subscriber.authorId != null) {
+            byAuthor.computeIfAbsent(subscriber.authorId, id -> new HashSet<>()).add(subscriber);
+        } else if (subscriber.executorId != null) {
+            byExecutor.computeIfAbsent(subscriber.executorId, id -> new HashSet<>()).add(subscriber);
+        } else {
+            unfiltered.add(subscriber);
+        }
+        subscriberCount++;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        synchronized (lock) {
+            boolean removed;
+            if (subscriber.authorId != null) {
+                removed = removeFrom(byAuthor, subscriber.authorId, subscriber);
+            } else if (subscriber.executorId != null) {
+                removed = removeFrom(byExecutor, subscriber.executorId, subscriber);
+            } else {
+                removed = unfiltered.remove(subscriber);
+            }
+            if (removed) subscriberCount--;
+        }
+    }
+
+    private static boolean removeFrom(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        Set<Subscriber> subscribers = index.get(key);
+        if (subscribers == null || !subscribers.remove(subscriber)) return false;
+        if (subscribers.isEmpty()) index.remove(key);
+        return true;
+    }
+
+    private void ping() {
+        List<Subscriber> all = new ArrayList<>();
+        synchronized (lock) {
+            all.addAll(unfiltered);
+            byAuthor.values().forEach(all::addAll);
+            byExecutor.values().forEach(all::addAll);
+        }
+        for (Subscriber subscriber : all) {
+            subscriber.pingPending = true;
+            if (!subscriber.closed && !subscriber.scheduleDrain()) disconnectSlow(subscriber);
+        }
+    }
+
+    private void disconnectSlow(Subscriber subscriber) {
+        dropped.increment();
+        log.debug("Task event subscriber fell behind, disconnecting");
+        subscriber.close();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        delivery.shutdownNow();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Long authorId;
+        final Long executorId;
+        final ArrayBlockingQueue<TaskEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean pingPending;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Long authorId, Long executorId) {
+            this.emitter = emitter;
+            this.authorId = authorId;
+            this.executorId = executorId;
+        }
+
+        boolean matches(TaskEvent event) {
+            if (authorId != null && !authorId.equals(event.authorId())) return false;
+            return executorId == null
+                    || executorId.equals(event.executorId())
+                    || executorId.equals(event.previousExecutorId());
+        }
+
+        // at most one drain per subscriber is queued or running, so events leave in id order;
+        // false when the delivery pool is full and the subscriber has to go
+        boolean scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return true;
+            try {
+                delivery.execute(this::drain);
+                return true;
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                return false;
+            }
+        }
+
+        private void drain() {
+            try {
+                TaskEvent event;
+                while (!closed && (event = queue.poll()) != null) send(event);
+                if (!closed && pingPending) {
+                    pingPending = false;
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // offered after the last poll
+            if (!closed && (!queue.isEmpty() || pingPending) && !scheduleDrain()) disconnectSlow(this);
+        }
+
+        void send(TaskEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.id()))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        void sendReset() throws IOException {
+            emitter.send(SseEmitter.event().name("reset").data("reload"));
+        }
+
+        void close() {
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.CommentExport;
+import com.example.Task_Management_System.dto.TaskExport;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.repository.CommentRepository;
+import com.example.Task_Management_System.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Writes every task as one NDJSON line straight from a JDBC cursor.
+ * Rows are handled in chunks of TaskRepository.EXPORT_FETCH_SIZE: comments of a chunk are loaded
+ * with one query, the chunk is written and flushed, then the persistence context is cleared,
+ * so memory use does not depend on the table size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    private static final int CHUNK_SIZE = Integer.parseInt(TaskRepository.EXPORT_FETCH_SIZE);
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, boolean withComments) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskExport.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");    // lines are ended by writeChunk
+        JsonGenerator generator = writer.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+
+        try (generator; Stream<Task> tasks = taskRepository.streamAllByOrderById()) {
+            List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(chunk, withComments, writer, generator);
+                }
+            }
+            count += writeChunk(chunk, withComments, writer, generator);
+        }
+        log.debug("Exported {} tasks (comments: {})", count, withComments);
+        return count;
+    }
+
+    private int writeChunk(List<Task> chunk, boolean withComments, ObjectWriter writer, JsonGenerator generator)
+            throws IOException {
+        if (chunk.isEmpty()) return 0;
+        Map<Long, List<CommentExport>> comments = withComments ? commentsOf(chunk) : Map.of();
+
+        for (Task task : chunk) {
+            List<CommentExport> taskComments = withComments ? comments.getOrDefault(task.getId(), List.of()) : null;
+            writer.writeValue(generator, TaskExport.of(task, taskComments));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();   // written tasks are not needed anymore
+        return written;
+    }
+
+    private Map<Long, List<CommentExport>> commentsOf(List<Task> chunk) {
+        List<Long> taskIds = chunk.stream().map(Task::getId).toList();
+        Map<Long, List<CommentExport>> byTask = new HashMap<>();
+        for (CommentExport comment : commentRepository.findExportByTaskIdIn(taskIds)) {
+            byTask.computeIfAbsent(comment.taskId(), id -> new ArrayList<>()).add(comment);
+        }
+        return byTask;
+    }
+}
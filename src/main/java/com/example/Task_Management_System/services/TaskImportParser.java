@@ -0,0 +1,234 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.CommentImportRow;
+import com.example.Task_Management_System.dto.TaskImportRow;
+import com.example.Task_Management_System.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Turns an import file into TaskImportRows one row at a time, so the file is never held in memory.
+ * A row that cannot be parsed is returned with an error instead of stopping the import.
+ */
+class TaskImportParser {
+
+    // "line" is where the task starts in the file, for the rejected rows report
+    record ParsedRow(long line, TaskImportRow row, String error) {
+    }
+
+    private TaskImportParser() {
+    }
+
+    /**
+     * One JSON object per line:
+     * {"title": "...", "description": "...", "status": "ON_HOLD", "priority": "LOW", "author": "a@site.com",
+     * "executor": "b@site.com", "createdAt": "2024-05-01T10:00:00", "comments": [{"author": "...", "content": "..."}]}
+     */
+    static Iterator<ParsedRow> ndjson(Reader source, ObjectReader rowReader) {
+        BufferedReader reader = new BufferedReader(source);
+        return new RowIterator() {
+            private long line;
+
+            @Override
+            ParsedRow computeNext() throws IOException {
+                String text;
+                do {
+                    text = reader.readLine();
+                    if (text == null) return null;
+                    line++;
+                } while (text.isBlank());
+                try {
+                    return new ParsedRow(line, rowReader.readValue(text), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    /**
+     * RFC 4180 with a header row; columns are matched by name:
+     * kind,title,description,status,priority,author,executor,content,createdAt
+     * A row with kind "comment" (author, content, createdAt) belongs to the nearest task row above it.
+     */
+    static Iterator<ParsedRow> csv(Reader source) {
+        CsvRecords records = new CsvRecords(new BufferedReader(source));
+        return new RowIterator() {
+            private Map<String, Integer> header;
+            private ParsedRow pending;      // task whose comments may still follow
+
+            @Override
+            ParsedRow computeNext() throws IOException {
+                if (header == null) {
+                    List<String> names = records.next();
+                    if (names == null) return null;
+                    header = new HashMap<>();
+                    for (int i = 0; i < names.size(); i++) header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+                List<String> fields;
+                while ((fields = records.next()) != null) {
+                    if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+                    long line = records.recordLine();
+                    String kind = field(fields, "kind");
+
+                    if ("comment".equalsIgnoreCase(kind)) {
+                        if (pending == null) return new ParsedRow(line, null, "Comment row without a task above it");
+                        if (pending.row() == null) continue;    // task already rejected
+                        try {
+                            pending.row().getComments().add(new CommentImportRow(field(fields, "author"),
+                                    field(fields, "content"), parseDateTime(field(fields, "createdat"))));
+                        } catch (DateTimeParseException e) {
+                            pending = new ParsedRow(pending.line(), null, "Comment at line " + line + ": " + e.getMessage());
+                        }
+                        continue;
+                    }
+
+                    ParsedRow next = toTask(fields, line);
+                    ParsedRow ready = pending;
+                    pending = next;
+                    if (ready != null) return ready;
+                }
+                ParsedRow last = pending;
+                pending = null;
+                return last;
+            }
+
+            private ParsedRow toTask(List<String> fields, long line) {
+                try {
+                    TaskImportRow row = new TaskImportRow();
+                    row.setTitle(field(fields, "title"));
+                    row.setDescription(field(fields, "description"));
+                    row.setStatus(parseEnum(Task.Status.class, field(fields, "status")));
+                    row.setPriority(parseEnum(Task.Priority.class, field(fields, "priority")));
+                    row.setAuthor(field(fields, "author"));
+                    row.setExecutor(field(fields, "executor"));
+                    row.setCreatedAt(parseDateTime(field(fields, "createdat")));
+                    return new ParsedRow(line, row, null);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    return new ParsedRow(line, null, e.getMessage());
+                }
+            }
+
+            private String field(List<String> fields, String name) {
+                Integer index = header.get(name);
+                if (index == null || index >= fields.size()) return null;
+                String value = fields.get(index);
+                return value.isEmpty() ? null : value;
+            }
+        };
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) return null;
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return value == null ? null : LocalDateTime.parse(value.trim());
+    }
+
+    private abstract static class RowIterator implements Iterator<ParsedRow> {
+        private ParsedRow next;
+        private boolean done;
+
+        // null when the input is exhausted
+        abstract ParsedRow computeNext() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = computeNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public ParsedRow next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ParsedRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    // fields may be quoted; quoted fields can contain commas, "" and line breaks
+    private static class CsvRecords {
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+        private int pushedBack = -2;
+
+        CsvRecords(Reader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        int after = read();
+                        if (after == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            pushedBack = after;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) return null;
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
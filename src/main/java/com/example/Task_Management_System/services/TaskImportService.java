@@ -0,0 +1,273 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.CommentImportRow;
+import com.example.Task_Management_System.dto.CommentReq;
+import com.example.Task_Management_System.dto.ImportReport;
+import com.example.Task_Management_System.dto.ImportReport.RejectedRow;
+import com.example.Task_Management_System.dto.TaskEvent;
+import com.example.Task_Management_System.dto.TaskImportRow;
+import com.example.Task_Management_System.dto.TaskReq;
+import com.example.Task_Management_System.dto.UserResp;
+import com.example.Task_Management_System.model.Comment;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.repository.CommentRepository;
+import com.example.Task_Management_System.repository.TaskRepository;
+import com.example.Task_Management_System.repository.UserRepository;
+import com.example.Task_Management_System.services.TaskImportParser.ParsedRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import for migrations: rows are parsed one at a time, validated against the
+ * TaskReq / CommentReq constraints and written app.import.chunk-size tasks per transaction
+ * (JDBC batched, see hibernate.jdbc.batch_size). Author/executor emails are resolved
+ * with one query per chunk for the emails not seen before in this run. Every imported task gets
+ * its CREATED TaskEvent in the chunk's transaction.
+ * A failing chunk is reported as rejected rows; the following chunks still run.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheDependencies cacheDependencies;
+    private final TaskEvents events;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+    private final int maxReportedRejects;
+
+    public TaskImportService(TaskRepository taskRepository, CommentRepository commentRepository,
+                             UserRepository userRepository, Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             CacheDependencies cacheDependencies, TaskEvents events,
+                             ObjectMapper objectMapper,
+                             @Value("${app.import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.import.max-reported-rejects:1000}") int maxReportedRejects) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheDependencies = cacheDependencies;
+        this.events = events;
+        this.rowReader = objectMapper.readerFor(TaskImportRow.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedRejects = maxReportedRejects;
+    }
+
+    public ImportReport importNdjson(InputStream in) {
+        return run("ndjson", TaskImportParser.ndjson(utf8(in), rowReader));
+    }
+
+    public ImportReport importCsv(InputStream in) {
+        return run("csv", TaskImportParser.csv(utf8(in)));
+    }
+
+    // format is chosen by extension: *.csv, anything else is read as NDJSON
+    public ImportReport importFile(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                    ? importCsv(in)
+                    : importNdjson(in);
+        }
+    }
+
+    private static Reader utf8(InputStream in) {
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private ImportReport run(String format, Iterator<ParsedRow> rows) {
+        long started = System.nanoTime();
+        Run run = new Run();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+
+        while (rows.hasNext()) {
+            ParsedRow parsed = rows.next();
+            run.rowsRead++;
+            String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+            if (error != null) {
+                run.reject(parsed.line(), error);
+                continue;
+            }
+            chunk.add(parsed);
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, run);
+                log.info("Import ({}): {} rows read, {} tasks written, {} rejected, {} rows/s",
+                        format, run.rowsRead, run.tasks, run.rejectedCount, rowsPerSecond(run.rowsRead, started));
+            }
+        }
+        writeChunk(chunk, run);
+
+        run.rejected.sort(Comparator.comparingLong(RejectedRow::line));   // unknown users are found per chunk, after parse errors
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        ImportReport report = new ImportReport(format, run.rowsRead, run.tasks, run.comments, run.rejectedCount,
+                millis, rowsPerSecond(run.rowsRead, started), run.rejected);
+        log.info("Import finished: {}", report);
+        return report;
+    }
+
+    private void writeChunk(List<ParsedRow> chunk, Run run) {
+        if (chunk.isEmpty()) return;
+        Map<String, Long> userIds = resolveUsers(chunk, run.userIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> tasks = new ArrayList<>(chunk.size());
+        List<Comment> comments = new ArrayList<>();
+        List<ParsedRow> written = new ArrayList<>(chunk.size());
+        Set<Long> affectedUsers = new HashSet<>();     // their profiles list the new tasks and comments
+        for (ParsedRow parsed : chunk) {
+            TaskImportRow row = parsed.row();
+            String unknown = unknownUser(row, userIds);
+            if (unknown != null) {
+                run.reject(parsed.line(), "There is no User with email: " + unknown);
+                continue;
+            }
+            // builders instead of setAuthor/setTask: those would load the users' task and comment collections
+            Task task = Task.builder()
+                    .title(row.getTitle())
+                    .description(row.getDescription())
+                    .status(row.getStatus())
+                    .priority(row.getPriority())
+                    .author(userRepository.getReferenceById(userIds.get(row.getAuthor())))
+                    .executor(row.getExecutor() == null ? null : userRepository.getReferenceById(userIds.get(row.getExecutor())))
+                    .commentCount(row.getComments().size())
+                    .createdAt(row.getCreatedAt() == null ? now : row.getCreatedAt())
+                    .build();
+            for (CommentImportRow commentRow : row.getComments()) {
+                comments.add(Comment.builder()
+                        .task(task)
+                        .author(userRepository.getReferenceById(userIds.get(commentRow.getAuthor())))
+                        .content(commentRow.getContent())
+                        .createdAt(commentRow.getCreatedAt() == null ? task.getCreatedAt() : commentRow.getCreatedAt())
+                        .build());
+            }
+            tasks.add(task);
+            written.add(parsed);
+            affectedUsers.add(userIds.get(row.getAuthor()));
+            if (row.getExecutor() != null) affectedUsers.add(userIds.get(row.getExecutor()));
+            row.getComments().forEach(commentRow -> affectedUsers.add(userIds.get(commentRow.getAuthor())));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.saveAll(tasks);
+                commentRepository.saveAll(comments);
+                cacheDependencies.userRespChanged(affectedUsers);
+                for (Task task : tasks) {
+                    events.publish(TaskEvent.Type.CREATED, task.getId(), task.getAuthor().getId(),
+                            task.getExecutor() == null ? null : task.getExecutor().getId(), null, task.getVersion());
+                }
+            });
+            run.tasks += tasks.size();
+            run.comments += comments.size();
+        } catch (RuntimeException e) {
+            log.warn("Import chunk of {} tasks failed", tasks.size(), e);
+            for (ParsedRow parsed : written) run.reject(parsed.line(), "Chunk failed: " + e.getMessage());
+        }
+        // no entityManager.clear(): open-in-view is off, so the chunk's persistence context closed with its transaction
+        chunk.clear();
+    }
+
+    // ids of the users referenced by the chunk; one IN query for the emails not cached yet in this run
+    private Map<String, Long> resolveUsers(List<ParsedRow> chunk, Cache<String, Optional<Long>> cache) {
+        Set<String> emails = new HashSet<>();
+        for (ParsedRow parsed : chunk) {
+            TaskImportRow row = parsed.row();
+            emails.add(row.getAuthor());
+            if (row.getExecutor() != null) emails.add(row.getExecutor());
+            for (CommentImportRow comment : row.getComments()) emails.add(comment.getAuthor());
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String email : emails) {
+            Optional<Long> cached = cache.getIfPresent(email);
+            if (cached == null) missing.add(email);
+            else cached.ifPresent(id -> ids.put(email, id));
+        }
+        if (missing.isEmpty()) return ids;
+
+        for (UserResp user : userRepository.findRespByEmailIn(missing)) {
+            ids.put(user.getEmail(), user.getId());
+            cache.put(user.getEmail(), Optional.of(user.getId()));
+            missing.remove(user.getEmail());
+        }
+        missing.forEach(email -> cache.put(email, Optional.empty()));    // unknown emails are not queried again
+        return ids;
+    }
+
+    private static String unknownUser(TaskImportRow row, Map<String, Long> userIds) {
+        if (!userIds.containsKey(row.getAuthor())) return row.getAuthor();
+        if (row.getExecutor() != null && !userIds.containsKey(row.getExecutor())) return row.getExecutor();
+        for (CommentImportRow comment : row.getComments()) {
+            if (!userIds.containsKey(comment.getAuthor())) return comment.getAuthor();
+        }
+        return null;
+    }
+
+    private String validate(TaskImportRow row) {
+        if (row == null) return "Empty row";
+        List<String> errors = new ArrayList<>();
+        if (row.getAuthor() == null) errors.add("author: must not be blank");
+        for (ConstraintViolation<TaskReq> v : validator.validate(row.toTaskReq())) {
+            errors.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+        List<CommentImportRow> comments = row.getComments() == null ? List.of() : row.getComments();
+        row.setComments(comments);
+        for (int i = 0; i < comments.size(); i++) {
+            CommentImportRow comment = comments.get(i);
+            if (comment == null || comment.getAuthor() == null) {
+                errors.add("comments[" + i + "].author: must not be blank");
+                continue;
+            }
+            for (ConstraintViolation<CommentReq> v : validator.validateValue(CommentReq.class, "content", comment.getContent())) {
+                errors.add("comments[" + i + "].content: " + v.getMessage());
+            }
+        }
+        return errors.isEmpty() ? null : errors.stream().sorted().collect(Collectors.joining(", "));
+    }
+
+    private static long rowsPerSecond(long rows, long startedNanos) {
+        long nanos = Math.max(1, System.nanoTime() - startedNanos);
+        return rows * 1_000_000_000L / nanos;
+    }
+
+    // counters of one import; user ids are cached per run so renamed or deleted users are never stale
+    private class Run {
+        final Cache<String, Optional<Long>> userIds = Caffeine.newBuilder().maximumSize(100_000).build();
+        final List<RejectedRow> rejected = new ArrayList<>();
+        long rowsRead;
+        long tasks;
+        long comments;
+        long rejectedCount;
+
+        void reject(long line, String reason) {
+            rejectedCount++;
+            if (rejected.size() < maxReportedRejects) rejected.add(new RejectedRow(line, reason));
+        }
+    }
+}
@@ -1,43 +1,85 @@
 package com.example.Task_Management_System.services;
 
+import com.example.Task_Management_System.config.ReplicaRoutingDataSource;
+import com.example.Task_Management_System.dto.BatchItemResult;
+import com.example.Task_Management_System.dto.CursorPage;
+import com.example.Task_Management_System.dto.TaskEvent;
+import com.example.Task_Management_System.dto.TaskOwners;
+import com.example.Task_Management_System.dto.TaskCursor;
 import com.example.Task_Management_System.dto.TaskReq;
+import com.example.Task_Management_System.dto.TaskSearchCriteria;
 import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.exception.BatchTooLargeException;
+import com.example.Task_Management_System.exception.InvalidCursorException;
 import com.example.Task_Management_System.exception.CustomPermissionException;
+import com.example.Task_Management_System.exception.InvalidSearchCriteriaException;
+import com.example.Task_Management_System.exception.TaskConflictException;
 import com.example.Task_Management_System.model.Task.Priority;
 import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.TaskRevision;
 import com.example.Task_Management_System.model.User;
 import com.example.Task_Management_System.repository.TaskRepository;
+import com.example.Task_Management_System.repository.TaskRevisionRepository;
+import com.example.Task_Management_System.repository.TaskSpecifications;
 import com.example.Task_Management_System.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
+import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TaskService {
+    // sort keys accepted by /tasks/criteria: columns covered by the task indexes
+    private static final Set<String> SORTABLE = Set.of("id", "createdAt", "updatedAt", "status", "priority", "title");
+
     private final TaskRepository repository;
     private final UserRepository userRepository;
+    private final Validator validator;
+    private final CacheDependencies cacheDependencies;
+    private final TaskRevisionRepository revisionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TaskEvents events;
+
+    @Value("${app.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.task-update.max-attempts:3}")
+    private int maxUpdateAttempts;
+
+    @Value("${app.task-update.revisions-kept:20}")
+    private int revisionsKept;
 
+    @Transactional(readOnly = true)
     public List<TaskResp> findAllByAuthorId(Long authorId, Pageable pageable) {
         if (!userRepository.existsById(authorId)) {
             throw new NoSuchElementException("There is no User with id: " + authorId);
         }
-        List<Task> taskList = repository.findAllByAuthorId(authorId, pageable);
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findRespByAuthorId(authorId, pageable);
     }
 
     @Transactional
@@ -62,9 +104,11 @@ public class TaskService {
         }
 
         newTask.setAuthor(authorUser);
-        newTask.setCreatedAt(new Date());
+        newTask.setCreatedAt(LocalDateTime.now());
 
-        return repository.save(newTask);
+        Task saved = repository.save(newTask);
+        events.publish(TaskEvent.Type.CREATED, saved.getId(), userId, executorId, null, saved.getVersion());
+        return saved;
     }
 
     private Task toTask(TaskReq taskReq) {
@@ -77,46 +121,58 @@ public class TaskService {
         return task;
     }
 
-    private TaskResp toResponse(Task task) {
-        TaskResp response = new TaskResp();
-        response.setId(task.getId());
-        response.setTitle(task.getTitle());
-        response.setDescription(task.getDescription());
-        response.setStatus(task.getStatus());
-        response.setPriority(task.getPriority());
-        response.setCreatedAt(this.toLocalDateTime(task.getCreatedAt()));
-        response.setUpdatedAt(this.toLocalDateTime(task.getUpdatedAt()));
-        if (Hibernate.isInitialized(task.getAuthor())) {
-            User author = task.getAuthor();
-            response.setAuthor("id: " + author.getId()
-                    + ", name: " + author.getFirstName()
-                    + ", surname: " + author.getLastName());
-        } else {
-            response.setAuthor("id: " + task.getAuthorId());
-        }
-        if (Hibernate.isInitialized(task.getExecutor())) {
-            User executor = task.getExecutor();
-            if (executor != null) {
-                response.setExecutor("id: " + executor.getId()
-                        + ", name: " + executor.getFirstName()
-                        + ", surname: " + executor.getLastName());
-            } else {
-                response.setExecutor("no executor assigned");
+    @Transactional(readOnly = true)
+    public List<TaskResp> findByCriteria(TaskSearchCriteria criteria, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new InvalidSearchCriteriaException("Unsupported sort key: " + order.getProperty() + ", allowed: " + SORTABLE);
             }
-        } else {
-            response.setExecutor("id: " + task.getExecutorId());
-        }
-        if (Hibernate.isInitialized(task.getComments())) {
-            response.setComments(task.getComments().size() + " comment(s)");
-        } else {
-            response.setComments("undefined");
         }
-        return response;
+        List<String> plan = new ArrayList<>();
+        Specification<Task> spec = toSpecification(criteria, plan);
+        log.debug("Task search plan: where {} order by {} limit {} offset {}",
+                plan, pageable.getSort(), pageable.getPageSize(), pageable.getOffset());
+
+        return repository.search(spec, pageable);
     }
 
-    public List<TaskResp> findByCriteria(Long authorId, Long executorId, Task.Status status, Priority priority, Pageable pageable) {
-        List<Task> taskList = repository.findByCriteria(authorId, executorId, status, priority, pageable);
-        return taskList.stream().map(this::toResponse).toList();
+    // Only supplied filters become predicates, so the planner sees e.g. "author_id = ? AND status IN (?, ?)"
+    // instead of "(? IS NULL OR ...)" for every column and can use the matching index.
+    private Specification<Task> toSpecification(TaskSearchCriteria criteria, List<String> plan) {
+        Specification<Task> spec = Specification.where(null);
+        if (criteria.getAuthorId() != null) {
+            spec = spec.and(TaskSpecifications.hasAuthor(criteria.getAuthorId()));
+            plan.add("authorId =");
+        }
+        if (criteria.getExecutorId() != null) {
+            spec = spec.and(TaskSpecifications.hasExecutor(criteria.getExecutorId()));
+            plan.add("executorId =");
+        }
+        List<Task.Status> statuses = criteria.getStatus();
+        if (statuses != null && statuses.size() == 1) {
+            spec = spec.and(TaskSpecifications.hasStatus(statuses.get(0)));
+            plan.add("status =");
+        } else if (statuses != null && !statuses.isEmpty()) {
+            spec = spec.and(TaskSpecifications.statusIn(statuses));
+            plan.add("status IN(" + statuses.size() + ")");
+        }
+        List<Priority> priorities = criteria.getPriority();
+        if (priorities != null && priorities.size() == 1) {
+            spec = spec.and(TaskSpecifications.hasPriority(priorities.get(0)));
+            plan.add("priority =");
+        } else if (priorities != null && !priorities.isEmpty()) {
+            spec = spec.and(TaskSpecifications.priorityIn(priorities));
+            plan.add("priority IN(" + priorities.size() + ")");
+        }
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            spec = spec.and(TaskSpecifications.between("createdAt", criteria.getCreatedFrom(), criteria.getCreatedTo()));
+            plan.add("createdAt range");
+        }
+        if (criteria.getUpdatedFrom() != null || criteria.getUpdatedTo() != null) {
+            spec = spec.and(TaskSpecifications.between("updatedAt", criteria.getUpdatedFrom(), criteria.getUpdatedTo()));
+            plan.add("updatedAt range");
+        }
+        return spec;
     }
 
     @Caching(evict = {
@@ -124,7 +180,8 @@ public class TaskService {
             @CacheEvict(value = "user_resp", condition = "#result.executorId ne null", key = "#result.executorId"),
             @CacheEvict(value = "user_resp", key = "#result.authorId")
     })
-    public void deleteTask(Long id, Authentication auth) {
+    @Transactional      // the delete and its outbox message commit together
+    public Task deleteTask(Long id, Authentication auth) {
         Task task = repository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("There is no Task with id: " + id));
 
@@ -139,24 +196,152 @@ public class TaskService {
 
         // update Task DB
         repository.deleteById(id);
+        repository.flush();     // lock the row before the outbox message takes its id, see OutboxMessage.taskId
+        events.publish(TaskEvent.Type.DELETED, id, authorId, task.getExecutorId(), null, task.getVersion());
 
+        return task;    // for caching purpose only
     }
 
-    @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", key = "#id"),
-            @CacheEvict(value = "user_resp", allEntries = true)
-    })
-    public Long updateTask(Long id, TaskReq taskReq, Authentication auth) {
+    // No row lock is held while a request is processed: the @Version column catches concurrent writers.
+    // The base is the If-Match version the client edited, or the version of the first read. If the row
+    // moved on since the base, the fields this request changed are merged onto the newer row, unless the
+    // same field was changed in between. Lost races are retried a few times with a short random backoff.
+    // Returns the task as written, for the ETag of the response.
+    public TaskResp updateTask(Long id, TaskReq taskReq, Authentication auth, Long expectedVersion) {
+        Long userId = this.extractUserId(auth);
+        Long[] baseVersion = {expectedVersion};
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> updateOnce(id, taskReq, userId, baseVersion));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                contention("lock_failure");
+                if (attempt >= maxUpdateAttempts) {
+                    contention("exhausted");
+                    throw new TaskConflictException("Task " + id + " is being updated concurrently, try again");
+                }
+                backoff(attempt);
+            }
+        }
+    }
 
+    private TaskResp updateOnce(Long id, TaskReq taskReq, Long userId, Long[] baseVersion) {
         Task fromDb = repository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("There is no Task with id: " + id));
+        if (baseVersion[0] == null) baseVersion[0] = fromDb.getVersion();
+
+        TaskRevision before = TaskRevision.of(fromDb);
+        TaskReq change = baseVersion[0].equals(fromDb.getVersion()) ? taskReq : merge(before, taskReq, baseVersion[0]);
+
+        applyUpdate(fromDb, change, userId, newExecutorId -> userRepository.findById(newExecutorId)
+                .orElseThrow(() -> new NoSuchElementException("There is no Executor User with id: " + newExecutorId)));
+        repository.saveAndFlush(fromDb);
+        revisionRepository.recordIfAbsent(before);   // the base may predate revisions, e.g. version 0
+        recordRevisions(List.of(id));
+        Long executorId = fromDb.getExecutor() == null ? null : fromDb.getExecutor().getId();
+        cacheDependencies.taskChanged(id, executorId);
+        events.publish(TaskEvent.Type.UPDATED, id, fromDb.getAuthorId(), executorId, before.getExecutorId(), fromDb.getVersion());
+        return written(id);
+    }
+
+    // the row is still locked by this transaction's UPDATE: the same state a GET after commit shows,
+    // so the response carries the same "<version>-<digest>" ETag
+    private TaskResp written(Long id) {
+        return repository.findRespById(id)
+                .orElseThrow(() -> new NoSuchElementException("There is no Task with id: " + id));
+    }
+
+    // three-way merge: what the request changed against its base, applied onto the current row
+    private TaskReq merge(TaskRevision current, TaskReq taskReq, Long baseVersion) {
+        Long id = current.getTaskId();
+        TaskRevision base = baseVersion > current.getVersion() ? null
+                : revisionRepository.findById(new TaskRevision.Key(id, baseVersion)).orElse(null);
+        if (base == null) {
+            contention("rejected");
+            throw new TaskConflictException("Version " + baseVersion + " of Task " + id
+                    + " is not known, current version is " + current.getVersion());
+        }
+
+        List<String> conflicts = new ArrayList<>();
+        TaskReq merged = new TaskReq(
+                pick("title", taskReq.getTitle(), base.getTitle(), current.getTitle(), conflicts),
+                pick("description", taskReq.getDescription(), base.getDescription(), current.getDescription(), conflicts),
+                pick("status", taskReq.getStatus(), base.getStatus(), current.getStatus(), conflicts),
+                pick("priority", taskReq.getPriority(), base.getPriority(), current.getPriority(), conflicts),
+                pick("executorId", taskReq.getExecutorId(), base.getExecutorId(), current.getExecutorId(), conflicts));
+        if (!conflicts.isEmpty()) {
+            contention("rejected");
+            throw new TaskConflictException("Task " + id + " was changed since version " + baseVersion
+                    + " (current " + current.getVersion() + "), conflicting fields: " + conflicts);
+        }
+        contention("merged");
+        return merged;
+    }
+
+    private static <T> T pick(String field, T requested, T base, T current, List<String> conflicts) {
+        if (Objects.equals(requested, base)) return current;    // not changed by this request
+        if (!Objects.equals(base, current) && !Objects.equals(requested, current)) conflicts.add(field);
+        return requested;
+    }
+
+    // every writer records the version it produced, so any recent version can be a merge base
+    private void recordRevisions(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) return;
+        revisionRepository.recordCurrent(taskIds);
+        revisionRepository.deleteOlderThanLast(taskIds, revisionsKept);
+    }
+
+    private void contention(String event) {
+        meterRegistry.counter("task.update.contention", "event", event).increment();
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskConflictException("Interrupted while retrying a concurrent update");
+        }
+    }
+
+    // PATCH /tasks/{id}/status: one conditional UPDATE instead of loading, diffing and saving the entity.
+    // Author or executor may set the status. The row is locked first: the revision of the version about
+    // to be replaced is then recorded by one writer at a time, and the owners read with the lock are the
+    // ones the UPDATE sees. Returns the task as written, for the ETag of the response.
+    @Transactional
+    public TaskResp updateStatus(Long id, Task.Status status, Authentication auth, Long expectedVersion) {
+        Long userId = this.extractUserId(auth);
+        TaskOwners owners = repository.lockOwnersByIdIn(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new NoSuchElementException("There is no Task with id: " + id));
+        if (!userId.equals(owners.authorId()) && !userId.equals(owners.executorId())) {
+            throw new CustomPermissionException("You have no permission to update this task: " + id);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // the version about to be replaced may be the base of a client's stale If-Match, e.g. version 0
+        revisionRepository.recordCurrent(List.of(id));
+        int updated = expectedVersion == null
+                ? repository.updateStatus(id, userId, status, now)
+                : repository.updateStatusSince(id, userId, status, now, expectedVersion);
+
+        if (updated == 0) {
+            contention("rejected");
+            throw new TaskConflictException("Task " + id + " was changed since version " + expectedVersion
+                    + " (current " + owners.version() + "), conflicting fields: [status]");
+        }
+        recordRevisions(List.of(id));
+        cacheDependencies.tasksChanged(List.of(id));    // user_resp lists titles only
+        TaskResp written = written(id);
+        events.publish(TaskEvent.Type.STATUS_CHANGED, id, owners.authorId(), owners.executorId(), null, written.getVersion());
+        return written;
+    }
+
+    private void applyUpdate(Task fromDb, TaskReq taskReq, Long userId, Function<Long, User> executorLookup) {
+        Long id = fromDb.getId();
         Task newTask = this.toTask(taskReq); // no executor inside
 
         Long authorId = fromDb.getAuthorId();
         Long executorId = fromDb.getExecutorId();
         // check permissions for action
-        Long userId = this.extractUserId(auth);
         boolean isAuthor = userId.equals(authorId);
         boolean isExecutor = userId.equals(executorId);
 
@@ -168,27 +353,18 @@ public class TaskService {
             if (!isExecutor) throw new CustomPermissionException("You have no permission to update this task: " + id);
             if (fieldsChanged.size() == 1 && fieldsChanged.contains("status")) {
                 fromDb.setStatus(newTask.getStatus());
-                fromDb.setUpdatedAt(new Date());
-
-                return repository.save(fromDb).getId();
+                fromDb.setUpdatedAt(LocalDateTime.now());
+                return;
             } else {
                 throw new CustomPermissionException("You have permission to update ONLY \"status\" for this task: " + id);
             }
         }
 
         Long newExecutorId = taskReq.getExecutorId();
-        User newExecutor;
 
         if (!Objects.equals(newExecutorId, executorId)) {  // Executor changed
-
-            if (newExecutorId != null) {
-                newExecutor = userRepository.findById(newExecutorId).orElseThrow(
-                        () -> new NoSuchElementException("There is no Executor User with id: " + newExecutorId));
-
-                fromDb.setExecutor(newExecutor);
-            } else {  // Executor deleted
-                fromDb.setExecutor(null);
-            }
+            // Executor deleted when newExecutorId is null
+            fromDb.setExecutor(newExecutorId == null ? null : executorLookup.apply(newExecutorId));
         }
 
         if (fieldsChanged.contains("title")) fromDb.setTitle(newTask.getTitle());
@@ -196,9 +372,155 @@ public class TaskService {
         if (fieldsChanged.contains("priority")) fromDb.setPriority(newTask.getPriority());
         if (fieldsChanged.contains("status")) fromDb.setStatus(newTask.getStatus());
 
-        fromDb.setUpdatedAt(new Date());
+        fromDb.setUpdatedAt(LocalDateTime.now());
+    }
 
-        return repository.save(fromDb).getId();
+    // POST /tasks/batch: every valid item is inserted in one transaction. Executors are resolved
+    // with one query, ids come from the pooled task_seq and rows go out as JDBC batches
+    // (hibernate.jdbc.batch_size); invalid items are reported and skipped.
+    @Transactional
+    public List<BatchItemResult> createTasks(List<TaskReq> taskReqs, Authentication auth) {
+        checkBatchSize(taskReqs.size());
+        User author = userRepository.getReferenceById(this.extractUserId(auth));
+        Map<Long, User> executors = this.findExecutors(taskReqs);
+        LocalDateTime now = LocalDateTime.now();
+
+        BatchItemResult[] results = new BatchItemResult[taskReqs.size()];
+        List<Task> newTasks = new ArrayList<>();
+        List<Integer> newTaskIndexes = new ArrayList<>();
+
+        for (int i = 0; i < taskReqs.size(); i++) {
+            TaskReq taskReq = taskReqs.get(i);
+            String error = this.validate(taskReq);
+            if (error == null && taskReq.getExecutorId() != null && !executors.containsKey(taskReq.getExecutorId())) {
+                error = "There is no User with executorId: " + taskReq.getExecutorId();
+            }
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, error);
+                continue;
+            }
+            Task newTask = this.toTask(taskReq);
+            newTask.setAuthor(author);
+            if (taskReq.getExecutorId() != null) newTask.setExecutor(executors.get(taskReq.getExecutorId()));
+            newTask.setCreatedAt(now);
+            newTasks.add(newTask);
+            newTaskIndexes.add(i);
+        }
+
+        repository.saveAll(newTasks);
+        repository.flush();
+
+        for (int j = 0; j < newTasks.size(); j++) {
+            int i = newTaskIndexes.get(j);
+            Task newTask = newTasks.get(j);
+            results[i] = BatchItemResult.created(i, newTask.getId());
+            events.publish(TaskEvent.Type.CREATED, newTask.getId(), author.getId(),
+                    newTask.getExecutor() == null ? null : newTask.getExecutor().getId(), null, newTask.getVersion());
+        }
+        // same keys createTask evicts: the author's and the executors' user_resp
+        Set<Long> userIds = new HashSet<>(executors.keySet());
+        userIds.add(author.getId());
+        cacheDependencies.userRespChanged(userIds);
+        return Arrays.asList(results);
+    }
+
+    // PUT /tasks/batch: {"<taskId>": TaskReq, ...} with the same permission rules as updateTask.
+    // All items are written in one transaction. If a concurrent writer moved one of the rows, that
+    // transaction rolls back and each item is redone on its own through updateTask, i.e. merged onto
+    // the newer row from the version the batch read and retried, so a conflict fails only its own item.
+    public List<BatchItemResult> updateTasks(Map<Long, TaskReq> changes, Authentication auth) {
+        checkBatchSize(changes.size());
+        Long userId = this.extractUserId(auth);
+        Map<Long, Long> baseVersions = new HashMap<>();
+        try {
+            return transactionTemplate.execute(status -> updateTasksOnce(changes, userId, baseVersions));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            contention("batch_split");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(changes.size());
+        int i = 0;
+        for (Map.Entry<Long, TaskReq> change : changes.entrySet()) {
+            Long id = change.getKey();
+            String error = this.validate(change.getValue());
+            if (error == null) {
+                try {
+                    updateTask(id, change.getValue(), auth, baseVersions.get(id));
+                } catch (TaskConflictException | CustomPermissionException | NoSuchElementException e) {
+                    error = e.getMessage();
+                }
+            }
+            results.add(error == null ? BatchItemResult.updated(i, id) : BatchItemResult.failed(i, id, error));
+            i++;
+        }
+        return results;
+    }
+
+    private List<BatchItemResult> updateTasksOnce(Map<Long, TaskReq> changes, Long userId, Map<Long, Long> baseVersions) {
+        Map<Long, Task> tasks = new HashMap<>();
+        repository.findAllById(changes.keySet()).forEach(task -> tasks.put(task.getId(), task));
+        tasks.values().forEach(task -> baseVersions.put(task.getId(), task.getVersion()));
+        Map<Long, User> executors = this.findExecutors(changes.values());
+
+        List<BatchItemResult> results = new ArrayList<>(changes.size());
+        List<Long> updatedIds = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Long, TaskReq> change : changes.entrySet()) {
+            Long id = change.getKey();
+            Task fromDb = tasks.get(id);
+            String error = fromDb == null ? "There is no Task with id: " + id : this.validate(change.getValue());
+            if (error == null) {
+                try {
+                    applyUpdate(fromDb, change.getValue(), userId, newExecutorId -> Optional.ofNullable(executors.get(newExecutorId))
+                            .orElseThrow(() -> new NoSuchElementException("There is no Executor User with id: " + newExecutorId)));
+                } catch (CustomPermissionException | NoSuchElementException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error == null) {
+                updatedIds.add(id);
+                cacheDependencies.taskChanged(id, fromDb.getExecutor() == null ? null : fromDb.getExecutor().getId());
+            }
+            results.add(error == null ? BatchItemResult.updated(i, id) : BatchItemResult.failed(i, id, error));
+            i++;
+        }
+        repository.flush();
+        recordRevisions(updatedIds);
+        for (Long id : updatedIds) {
+            Task task = tasks.get(id);     // executorId is the column value as loaded, i.e. the previous executor
+            events.publish(TaskEvent.Type.UPDATED, id, task.getAuthorId(),
+                    task.getExecutor() == null ? null : task.getExecutor().getId(), task.getExecutorId(), task.getVersion());
+        }
+        return results;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new BatchTooLargeException("Batch has " + size + " items, the limit is " + maxBatchSize);
+        }
+    }
+
+    private Map<Long, User> findExecutors(Collection<TaskReq> taskReqs) {
+        Set<Long> executorIds = new HashSet<>();
+        for (TaskReq taskReq : taskReqs) {
+            if (taskReq != null && taskReq.getExecutorId() != null) executorIds.add(taskReq.getExecutorId());
+        }
+        Map<Long, User> executors = new HashMap<>();
+        if (!executorIds.isEmpty()) {
+            userRepository.findAllById(executorIds).forEach(user -> executors.put(user.getId(), user));
+        }
+        return executors;
+    }
+
+    // @Valid does not reach into list elements, and one bad item must not reject the whole batch
+    private String validate(TaskReq taskReq) {
+        if (taskReq == null) return "Empty item";
+        Set<ConstraintViolation<TaskReq>> violations = validator.validate(taskReq);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 
     private Long extractUserId(Authentication auth) {
@@ -210,46 +532,101 @@ public class TaskService {
         return user.getId();
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResp> findAllByExecutorId(Long executorId, Pageable pageable) {
         if (!userRepository.existsById(executorId)) {
             throw new NoSuchElementException("There is no User with id: " + executorId);
         }
-        List<Task> taskList = repository.findAllByExecutorId(executorId, pageable);
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findRespByExecutorId(executorId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResp> findAllByStatus(Task.Status status, Pageable pageable) {
-        List<Task> taskList = repository.findAllByStatus(status, pageable);
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findRespByStatus(status, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResp> findAllByPriority(Priority priority, Pageable pageable) {
-        List<Task> taskList = repository.findAllByPriority(priority, pageable);
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findRespByPriority(priority, pageable);
     }
 
     @Cacheable(value = "tasks", key = "#id")
+    @Transactional(readOnly = true)
     public TaskResp findOne(Long id) {
-        Task task = repository.findFullTask(id).orElseThrow(
+        TaskResp resp = ReplicaRoutingDataSource.onPrimary(() -> repository.findRespById(id)).orElseThrow(
                 () -> new NoSuchElementException("There is no Task with id: " + id));
-        return this.toResponse(task);
-    }
-
-    private String toLocalDateTime(Date date) {
-        if (date == null) return "not updated";
-        Instant instant = date.toInstant();
-        LocalDateTime localDateTime = instant.atZone(ZoneId.systemDefault()).toLocalDateTime();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return localDateTime.format(formatter);
+        cacheDependencies.taskCached(resp);
+        return resp;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResp> findAll(Pageable pageable) {
-        List<Task> taskList = repository.findAll(pageable).getContent();
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findAllResp(pageable);
     }
 
+    // The projection joins author and executor only, so "eager" paging no longer needs
+    // the ids-first workaround for collection fetches: LIMIT/OFFSET is applied in SQL.
+    @Transactional(readOnly = true)
     public List<TaskResp> findFullTasks(Pageable pageable) {
-        List<Task> taskList = repository.findAllBy(pageable).getContent();
-        return taskList.stream().map(this::toResponse).toList();
+        return repository.findAllResp(pageable);
+    }
+
+    // Keyset ("cursor") variants of the listings above: page N costs the same as page 1
+    // because the position is a WHERE predicate on (createdAt, id) instead of an OFFSET.
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollByAuthorId(Long authorId, String cursor, int size) {
+        if (!userRepository.existsById(authorId)) {
+            throw new NoSuchElementException("There is no User with id: " + authorId);
+        }
+        return scroll(TaskSpecifications.hasAuthor(authorId), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollByExecutorId(Long executorId, String cursor, int size) {
+        if (!userRepository.existsById(executorId)) {
+            throw new NoSuchElementException("There is no User with id: " + executorId);
+        }
+        return scroll(TaskSpecifications.hasExecutor(executorId), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollByStatus(Task.Status status, String cursor, int size) {
+        return scroll(TaskSpecifications.hasStatus(status), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollByPriority(Priority priority, String cursor, int size) {
+        return scroll(TaskSpecifications.hasPriority(priority), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollByCriteria(TaskSearchCriteria criteria, String cursor, int size) {
+        List<String> plan = new ArrayList<>();
+        Specification<Task> spec = toSpecification(criteria, plan);
+        log.debug("Task search plan: where {} + keyset, limit {}", plan, size);
+        return scroll(spec, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResp> scrollAll(String cursor, int size) {
+        return scroll(Specification.where(null), cursor, size);
+    }
+
+    // same constructor projection as the offset listings: full author/executor names, no entities loaded
+    private CursorPage<TaskResp> scroll(Specification<Task> filter, String cursor, int size) {
+        if (size < 1) {
+            throw new InvalidCursorException("Page size must be at least 1, got " + size);
+        }
+        Specification<Task> spec = filter.and(TaskSpecifications.after(TaskCursor.decode(cursor)));
+        // one extra row tells whether there is a next page without a count query
+        List<TaskResp> taskList = repository.search(spec, PageRequest.of(0, size + 1, TaskSpecifications.KEYSET_SORT));
+
+        String nextCursor = null;
+        if (taskList.size() > size) {
+            taskList = taskList.subList(0, size);
+            nextCursor = TaskCursor.of(taskList.get(size - 1)).encode();
+        }
+        return new CursorPage<>(taskList, nextCursor);
     }
 }
@@ -0,0 +1,63 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.UserDeletionJob;
+import com.example.Task_Management_System.dto.UserDeletionReport;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Background variant of UserDeletionService for users with huge histories: the request returns
+ * a job id at once and the deletion runs on the application task executor.
+ * Finished jobs stay visible for an hour; the registry is per instance and not persisted.
+ */
+@Component
+@Slf4j
+public class UserDeletionJobs {
+
+    private final UserDeletionService deletionService;
+    private final AsyncTaskExecutor executor;
+    private final Cache<String, UserDeletionJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public UserDeletionJobs(UserDeletionService deletionService,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            AsyncTaskExecutor executor) {
+        this.deletionService = deletionService;
+        this.executor = executor;
+    }
+
+    public UserDeletionJob submit(Long userId) {
+        deletionService.findUser(userId);  // unknown id is reported to the caller, not to the job
+        String jobId = UUID.randomUUID().toString();
+        UserDeletionJob job = new UserDeletionJob(jobId, userId, UserDeletionJob.Status.RUNNING, null, null);
+        jobs.put(jobId, job);
+        executor.execute(() -> run(jobId, userId));
+        return job;
+    }
+
+    public UserDeletionJob get(String jobId) {
+        UserDeletionJob job = jobs.getIfPresent(jobId);
+        if (job == null) throw new NoSuchElementException("There is no user deletion job with id: " + jobId);
+        return job;
+    }
+
+    private void run(String jobId, Long userId) {
+        try {
+            UserDeletionReport report = deletionService.delete(userId);
+            jobs.put(jobId, new UserDeletionJob(jobId, userId, UserDeletionJob.Status.DONE, report, null));
+        } catch (RuntimeException e) {
+            log.error("User deletion job {} for user {} failed", jobId, userId, e);
+            jobs.put(jobId, new UserDeletionJob(jobId, userId, UserDeletionJob.Status.FAILED, null, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.dto.TaskEvent;
+import com.example.Task_Management_System.dto.TaskOwners;
+import com.example.Task_Management_System.dto.UserDeletionReport;
+import com.example.Task_Management_System.dto.UserResp;
+import com.example.Task_Management_System.repository.CommentRepository;
+import com.example.Task_Management_System.repository.TaskRepository;
+import com.example.Task_Management_System.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes a user with bulk UPDATE/DELETE statements instead of loading and cascading the entity graph.
+ * Every step works on at most app.user-deletion.chunk-size ids per transaction, so row locks are short
+ * and other writers are not blocked for the whole run. Order follows the foreign keys:
+ * executed tasks are unassigned, authored tasks are deleted with all their comments,
+ * the user's comments on other tasks are deleted (adjusting comment_count), then the user row.
+ * Each chunk publishes one TaskEvent per affected task in its own transaction, like the single-task writes.
+ * An interrupted run leaves a consistent database and can simply be repeated.
+ */
+@Service
+@Slf4j
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final AuthTokenCache authTokenCache;
+    private final CacheDependencies cacheDependencies;
+    private final TaskEvents events;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserDeletionService(UserRepository userRepository, TaskRepository taskRepository,
+                               CommentRepository commentRepository, AuthTokenCache authTokenCache,
+                               CacheDependencies cacheDependencies, TaskEvents events,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.user-deletion.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.authTokenCache = authTokenCache;
+        this.cacheDependencies = cacheDependencies;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public UserDeletionReport delete(Long userId) {
+        long started = System.nanoTime();
+        String email = findUser(userId).getEmail();
+        // tokens already verified must not keep working while the rows are being removed
+        authTokenCache.evictUser(email);
+
+        long unassigned = inChunks(
+                page -> taskRepository.findIdsByExecutorId(userId, page),
+                ids -> {
+                    taskRepository.clearExecutors(ids);
+                    for (TaskOwners task : taskRepository.lockOwnersByIdIn(ids)) {
+                        events.publish(TaskEvent.Type.UPDATED, task.id(), task.authorId(), null, userId, task.version());
+                    }
+                    return ids.size();
+                });
+        long[] commentsDeleted = {0};
+        Set<Long> commentedTaskIds = new HashSet<>();
+        long tasksDeleted = inChunks(
+                page -> taskRepository.findIdsByAuthorId(userId, page),
+                ids -> {
+                    List<TaskOwners> tasks = taskRepository.lockOwnersByIdIn(ids);
+                    commentsDeleted[0] += commentRepository.deleteByTaskIds(ids);
+                    cacheDependencies.tasksDeleted(ids);     // executors' profiles list these tasks
+                    int deleted = taskRepository.deleteByIds(ids);
+                    for (TaskOwners task : tasks) {
+                        events.publish(TaskEvent.Type.DELETED, task.id(), task.authorId(), task.executorId(), null, task.version());
+                    }
+                    return deleted;
+                });
+        commentsDeleted[0] += inChunks(
+                page -> commentRepository.findIdsByAuthorId(userId, page),
+                ids -> {
+                    Set<Long> taskIds = new HashSet<>(commentRepository.findTaskIdsByIdIn(ids));
+                    commentedTaskIds.addAll(taskIds);
+                    taskRepository.subtractComments(ids);
+                    int deleted = commentRepository.deleteByIds(ids);
+                    for (TaskOwners task : taskRepository.lockOwnersByIdIn(taskIds)) {
+                        events.publish(TaskEvent.Type.COMMENT_DELETED, task.id(), task.authorId(), task.executorId(), null, null);
+                    }
+                    return deleted;
+                });
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteUserById(userId));
+        // tokens verified meanwhile, cached tasks showing the user, plus tasks whose comment count went down
+        cacheDependencies.userChanged(userId, email);
+        cacheDependencies.tasksChanged(commentedTaskIds);
+
+        UserDeletionReport report = new UserDeletionReport(userId, unassigned, tasksDeleted,
+                commentsDeleted[0], (System.nanoTime() - started) / 1_000_000);
+        log.info("User deleted: {}", report);
+        return report;
+    }
+
+    public UserResp findUser(Long userId) {
+        return userRepository.findRespById(userId)
+                .orElseThrow(() -> new NoSuchElementException("There is no User with id: " + userId));
+    }
+
+    // processed rows no longer match the id query, so the first page is always the next chunk
+    private long inChunks(Function<Pageable, List<Long>> nextIds, ToIntFunction<List<Long>> step) {
+        Pageable firstPage = PageRequest.of(0, chunkSize);
+        long total = 0;
+        while (true) {
+            Integer done = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.apply(firstPage);
+                return ids.isEmpty() ? null : step.applyAsInt(ids);
+            });
+            if (done == null) return total;
+            total += done;
+        }
+    }
+}
@@ -1,22 +1,20 @@
 package com.example.Task_Management_System.services;
 
+import com.example.Task_Management_System.config.ReplicaRoutingDataSource;
 import com.example.Task_Management_System.dto.AuthRequest;
 import com.example.Task_Management_System.dto.AuthResponse;
+import com.example.Task_Management_System.dto.ResponseMapper;
+import com.example.Task_Management_System.dto.TaskTitle;
 import com.example.Task_Management_System.dto.UserReq;
 import com.example.Task_Management_System.dto.UserResp;
 import com.example.Task_Management_System.exception.ResourceNotFoundException;
 import com.example.Task_Management_System.exception.UserAlreadyExistsException;
-import com.example.Task_Management_System.model.Comment;
-import com.example.Task_Management_System.model.Task;
 import com.example.Task_Management_System.model.User;
 import com.example.Task_Management_System.repository.TaskRepository;
 import com.example.Task_Management_System.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -37,6 +35,7 @@ public class UserService {
     private final PasswordEncoder encoder;
     private final JwtService jwtService;
     private final TaskRepository taskRepository;
+    private final CacheDependencies cacheDependencies;
 
     private final AuthenticationManager authenticationManager;
 
@@ -61,57 +60,24 @@ public class UserService {
         return new AuthResponse(user.getId(), token);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResp> getAll() {
-        return repository.findAll().stream()
-                .map(this::toResponse)
-                .toList();
+        return repository.findAllResp();
     }
 
-    // we need 3 calls here to avoid MultipleBagFetchException and Cartesian product
+    // profile and executed tasks as two narrow queries, no entity graph and no Cartesian product
     @Cacheable(value = "user_resp", key = "#id")
     @Transactional(readOnly = true)
     public UserResp getById(Long id) {
-        User user = repository.findByIdWithTasks(id)
+        // the first statement picks the connection: both queries run on the primary
+        UserResp resp = ReplicaRoutingDataSource.onPrimary(() -> repository.findRespById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("There is no User with id: " + id));
-        return toResponse(user);
-    }
-
-    public UserResp toResponse(User user) {
-        UserResp resp = new UserResp();
-        resp.setId(user.getId());
-        resp.setFirstName(user.getFirstName());
-        resp.setLastName(user.getLastName());
-        resp.setEmail(user.getEmail());
-        resp.setRole(user.getRole());
-        //Выделение методов: Созданы два вспомогательных метода getTaskList и getCommentList.
-        // Эти методы принимают список задач или комментариев и сообщение для случая, когда данные загружаются лениво.
-        resp.setAsAuthor(getTaskList(user.getAuthoredTasks(), "undefined: loaded lazily"));
-        resp.setAsExecutor(getTaskList(user.getExecutedTasks(), "undefined: loaded lazily"));
-        resp.setComments(getCommentList(user.getComments(), "undefined: loaded lazily"));
-
+        List<TaskTitle> executed = taskRepository.findTitlesByExecutorId(id);
+        resp.setAsExecutor(executed.stream().map(TaskTitle::line).toList());
+        cacheDependencies.userRespCached(id, executed.stream().map(TaskTitle::id).toList());
         return resp;
     }
 
-    private List<String> getTaskList(List<Task> tasks, String lazyMessage) {
-        if (Hibernate.isInitialized(tasks)) {
-            return tasks.stream()
-                    .map(t -> "id: " + t.getId() + ", title: " + t.getTitle())
-                    .toList();
-        } else {
-            return List.of(lazyMessage);
-        }
-    }
-
-    private List<String> getCommentList(List<Comment> comments, String lazyMessage) {
-        if (Hibernate.isInitialized(comments)) {
-            return comments.stream()
-                    .map(c -> "id: " + c.getId() + ", to task: " + c.getTaskId())
-                    .toList();
-        } else {
-            return List.of(lazyMessage);
-        }
-    }
-
     public User mapDtoToUser(UserReq userReq) {
         return User.builder()
                 .firstName(userReq.getFirstName())
@@ -122,30 +88,17 @@ public class UserService {
                 .build();
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "users", key = "#result.email"),
-            @CacheEvict(value = "user_resp", key = "#userId"),
-            @CacheEvict(value = "tasks", allEntries = true)
-    })
-    public User deleteUser(Long userId) {
-        User user = findUserById(userId);
-        clearTaskExecutors(user.getExecutedTasks());
-        repository.delete(user);
-        return user; // для целей кэширования
-    }
-
-    @Caching(evict = {
-            @CacheEvict(value = "users", allEntries = true),
-            @CacheEvict(value = "user_resp", key = "#result.id")
-    })
     public UserResp updateUser(UserReq newUser, Authentication auth) {
         User currentUser = (User) auth.getPrincipal();
         User userToUpdate = findUserById(currentUser.getId());
+        // after commit: names are shown in cached tasks, the old email may still be a "users" key
+        // and the key of verified tokens
+        cacheDependencies.userChanged(userToUpdate.getId(), userToUpdate.getEmail(), newUser.getEmail());
 
         updateUserDetails(userToUpdate, newUser);
 
         User savedUser = repository.save(userToUpdate);
-        return this.toResponse(savedUser);
+        return ResponseMapper.toResponse(savedUser);
     }
 
     // Вспомогательные методы
@@ -158,13 +111,6 @@ public class UserService {
                 () -> new NoSuchElementException("There is no User with id: " + userId));
     }
 
-    private void clearTaskExecutors(List<Task> tasks) {
-        List<Long> executedTaskList = tasks.stream()
-                .map(Task::getId)
-                .toList();
-        taskRepository.clearExecutors(executedTaskList);
-    }
-
     private void updateUserDetails(User user, UserReq newUser) {
         user.setFirstName(newUser.getFirstName());
         user.setLastName(newUser.getLastName());
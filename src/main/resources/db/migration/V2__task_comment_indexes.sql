@@ -0,0 +1,30 @@
+-- Composite indexes matched to TaskRepository / CommentRepository query shapes.
+-- Listings filter on one column and order by created_at DESC (keyset adds id DESC as tiebreaker).
+
+-- findAllByAuthorId, /by-author keyset, criteria with authorId
+create index if not exists task_author_created_idx
+    on task (author_id, created_at desc, id desc);
+
+-- findAllByExecutorId, /by-executor keyset, criteria with executorId
+create index if not exists task_executor_created_idx
+    on task (executor_id, created_at desc, id desc);
+
+-- findAllByStatus, criteria with status [+ priority]
+create index if not exists task_status_priority_created_idx
+    on task (status, priority, created_at);
+
+-- findAllByPriority
+create index if not exists task_priority_created_idx
+    on task (priority, created_at desc);
+
+-- /lazy and /all keyset without filters
+create index if not exists task_created_id_idx
+    on task (created_at desc, id desc);
+
+-- findAllByTaskId
+create index if not exists comment_task_created_idx
+    on comment (task_id, created_at);
+
+-- findAllByAuthorId
+create index if not exists comment_author_created_idx
+    on comment (author_id, created_at);
@@ -0,0 +1,6 @@
+-- Denormalized number of comments per task, kept up to date by CommentService
+alter table task
+    add column if not exists comment_count integer not null default 0;
+
+update task t
+set comment_count = (select count(*) from comment c where c.task_id = t.id);
@@ -0,0 +1,19 @@
+-- Optimistic locking for task updates, see TaskService.updateTask
+alter table task
+    add column if not exists version bigint not null default 0;
+
+-- Editable fields of recent task versions: the common base when concurrent updates are merged
+create table if not exists task_revision
+(
+    task_id     bigint       not null
+        constraint fk_task_revision_task
+            references task
+            on delete cascade,
+    version     bigint       not null,
+    title       varchar(255),
+    description varchar(255),
+    status      varchar(255) not null,
+    priority    varchar(255) not null,
+    executor_id bigint,
+    constraint pk_task_revision primary key (task_id, version)
+);
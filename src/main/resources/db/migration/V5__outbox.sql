@@ -0,0 +1,14 @@
+-- Task and comment changes, written in the same transaction as the change and drained by OutboxRelay
+create sequence if not exists outbox_message_seq
+    increment by 50;
+
+create table if not exists outbox_message
+(
+    id         bigint        not null
+        constraint pk_outbox_message primary key,
+    event_type varchar(32)   not null,
+    task_id    bigint        not null,
+    payload    varchar(1000) not null,
+    created_at timestamp(6)  not null,
+    attempts   integer       not null default 0
+);
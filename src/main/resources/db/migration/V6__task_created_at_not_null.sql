@@ -0,0 +1,7 @@
+-- createdAt is part of the keyset cursor (TaskCursor): a null would break paging past that row
+update task
+set created_at = coalesce(updated_at, current_timestamp)
+where created_at is null;
+
+alter table task
+    alter column created_at set not null;
@@ -0,0 +1,2 @@
+-- Outbox ids are taken one by one while the task row is locked, so per task they follow commit order
+alter sequence outbox_message_seq increment by 1;
@@ -0,0 +1,11 @@
+-- Retry backoff and dead letters for OutboxRelay
+alter table outbox_message add column next_attempt_at timestamp(6);
+update outbox_message set next_attempt_at = created_at;
+alter table outbox_message alter column next_attempt_at set not null;
+
+-- set once app.outbox.max-attempts is used up; the row is kept for inspection and replay
+alter table outbox_message add column dead_at timestamp(6);
+alter table outbox_message add column last_error varchar(1000);
+
+-- the relay's "earlier message of the same task" check
+create index if not exists outbox_message_task_idx on outbox_message (task_id, id);
@@ -0,0 +1,13 @@
+-- findAllByStatus / findAllByPriority order by created_at DESC, id DESC (keyset tiebreaker).
+-- (status, priority, created_at) cannot serve a status-only listing in that order
+-- and (priority, created_at desc) leaves ties on created_at to a sort.
+
+-- findAllByStatus, /by-status keyset, criteria with status only
+create index if not exists task_status_created_idx
+    on task (status, created_at desc, id desc);
+
+-- findAllByPriority, /by-priority keyset, criteria with priority only
+create index if not exists task_priority_created_id_idx
+    on task (priority, created_at desc, id desc);
+
+drop index if exists task_priority_created_idx;
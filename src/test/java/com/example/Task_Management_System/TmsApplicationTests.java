@@ -1,16 +1,36 @@
 package com.example.Task_Management_System;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @ActiveProfiles(profiles = {"test"})
 @SpringBootTest(properties = {
         "command.line.runner.enabled=false"})  // exclude DataLoader
 class TmsApplicationTests {
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void cachesAreBoundedAndRecordStats() {
+        for (String name : new String[]{"tasks", "users", "user_resp"}) {
+            assertNotNull(cacheManager.getCache(name));
+            // near-cache level of the TwoLevelCache
+            Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(name).getNativeCache();
+            assertTrue(cache.policy().eviction().isPresent());
+            assertTrue(cache.policy().isRecordingStats());
+        }
+    }
+
 }
@@ -0,0 +1,104 @@
+package com.example.Task_Management_System.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// two "instances" on one real redis-server, plus one whose Redis is unreachable
+class RedisSharedCacheTierTest {
+
+    private static RedisServer server;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisMessageListenerContainer listenerContainer;
+    private static RedisSharedCacheTier node1;
+    private static RedisSharedCacheTier node2;
+    private static final List<String> node2Invalidations = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        server = new RedisServer(port);
+        server.start();
+        connectionFactory = connectionFactory(port);
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        node1 = new RedisSharedCacheTier(connectionFactory, listenerContainer, new AppCacheProperties());
+        node2 = new RedisSharedCacheTier(connectionFactory, listenerContainer, new AppCacheProperties());
+        node2.subscribe((cache, key) -> node2Invalidations.add(cache + ":" + key));
+        listenerContainer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        listenerContainer.destroy();
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void whenOneNodeWritesAndEvicts_thenOtherNodeSeesIt() throws InterruptedException {
+        node1.put(CacheConfig.TASKS, 1L, "task 1");
+        assertEquals("task 1", node2.get(CacheConfig.TASKS, 1L));
+
+        node1.evict(CacheConfig.TASKS, 1L);
+
+        assertNull(node2.get(CacheConfig.TASKS, 1L));
+        for (int i = 0; i < 100 && !node2Invalidations.contains("tasks:1"); i++) Thread.sleep(20);
+        assertTrue(node2Invalidations.contains("tasks:1"), node2Invalidations.toString());
+    }
+
+    @Test
+    void linksAreFoundFromAnyNode() {
+        node1.link(CacheConfig.USER_RESP, 7L, "task:70");
+        node1.link(CacheConfig.USER_RESP, 8L, "task:70");
+
+        assertEquals(Set.of(7L, 8L), node2.dependents(CacheConfig.USER_RESP, "task:70"));
+        assertTrue(node2.linkCount(CacheConfig.USER_RESP) >= 1);
+    }
+
+    @Test
+    void whenRedisIsDown_thenWritesDegradeInsteadOfFailing() throws IOException {
+        LettuceConnectionFactory unreachable = connectionFactory(freePort());
+        try {
+            RedisSharedCacheTier tier = new RedisSharedCacheTier(unreachable, new RedisMessageListenerContainer(),
+                    new AppCacheProperties());
+
+            assertDoesNotThrow(() -> tier.put(CacheConfig.TASKS, 1L, "task 1"));
+            assertNull(tier.get(CacheConfig.TASKS, 1L));
+            assertDoesNotThrow(() -> tier.evict(CacheConfig.TASKS, 1L));
+            assertDoesNotThrow(() -> tier.clear(CacheConfig.TASKS));
+            assertDoesNotThrow(() -> tier.link(CacheConfig.TASKS, 1L, "user:1"));
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private static LettuceConnectionFactory connectionFactory(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
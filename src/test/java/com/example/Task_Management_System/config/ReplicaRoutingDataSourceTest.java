@@ -0,0 +1,113 @@
+package com.example.Task_Management_System.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// primary and replica are two H2 databases holding a different "node" value
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+    private final SharedCacheTier sharedTier = new InMemorySharedCacheTier(new AppCacheProperties());
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLagQuery("SELECT lag FROM node");
+        routing = routing();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = readOnly(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void whenReadOnlyTransaction_thenReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void whenReplicaLagsTooMuch_thenPrimary() {
+        new JdbcTemplate(database("replica")).update("UPDATE node SET lag = 60");
+        routing.checkReplicationLag();
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void whenUserWroteRecently_thenTheirReadsStayOnPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("adm@site.com", null, List.of()));
+
+        readWrite.execute(status -> node());
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void whenCacheLoad_thenPrimary() {
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> node())));
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void whenUserWroteOnAnotherInstance_thenTheirReadsStayOnPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("adm@site.com", null, List.of()));
+        DataSource otherInstance = new LazyConnectionDataSourceProxy(routing());
+
+        readWrite.execute(status -> node());
+
+        assertEquals("primary", readOnly(otherInstance).execute(status ->
+                new JdbcTemplate(otherInstance).queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    private ReplicaRoutingDataSource routing() {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(database("primary"),
+                List.of(database("replica")), properties, sharedTier, new SimpleMeterRegistry());
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private static TransactionTemplate readOnly(DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20), lag DOUBLE)");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
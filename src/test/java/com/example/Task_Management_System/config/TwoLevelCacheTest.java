@@ -0,0 +1,56 @@
+package com.example.Task_Management_System.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// two "instances" sharing the in-memory stand-in of the shared tier
+class TwoLevelCacheTest {
+
+    private final SharedCacheTier sharedTier = new InMemorySharedCacheTier(new AppCacheProperties());
+    private final TwoLevelCache node1 = node(true);
+    private final TwoLevelCache node2 = node(true);
+
+    private TwoLevelCache node(boolean shareValues) {
+        TwoLevelCache cache = new TwoLevelCache(new ConcurrentMapCache(CacheConfig.TASKS), sharedTier, shareValues);
+        sharedTier.subscribe((name, key) -> {
+            if (name.equals(cache.getName())) cache.evictLocal(key);
+        });
+        return cache;
+    }
+
+    @Test
+    void whenOtherNodeCached_thenValueReadFromSharedTier() {
+        node1.put(1L, "task 1");
+
+        Cache.ValueWrapper wrapper = node2.get(1L);
+
+        assertEquals("task 1", wrapper.get());
+    }
+
+    @Test
+    void whenOtherNodeEvicts_thenLocalCopyDropped() {
+        node1.put(1L, "task 1");
+        node2.get(1L);  // near-cache copy on node 2
+
+        node1.evict(1L);
+
+        assertNull(node2.get(1L));
+        assertNull(node1.get(1L));
+    }
+
+    @Test
+    void whenValuesNotShared_thenOnlyEvictionsReachOtherNodes() {
+        TwoLevelCache local1 = node(false);
+        TwoLevelCache local2 = node(false);
+        local1.put(1L, "principal");
+        local2.put(1L, "principal");
+
+        assertNull(node(false).get(1L));
+        local1.evict(1L);
+        assertNull(local2.get(1L));
+    }
+}
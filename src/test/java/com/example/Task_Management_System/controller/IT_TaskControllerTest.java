@@ -1,28 +1,52 @@
 package com.example.Task_Management_System.controller;
 
+import com.example.Task_Management_System.dto.CommentReq;
+import com.example.Task_Management_System.model.OutboxMessage;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.repository.OutboxMessageRepository;
+import com.example.Task_Management_System.repository.TaskRepository;
+import com.example.Task_Management_System.services.CommentService;
+import com.example.Task_Management_System.services.InProcessOutboxBroker;
+import com.example.Task_Management_System.services.OutboxConsumer;
+import com.example.Task_Management_System.services.OutboxRelay;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.core.StringContains;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -38,6 +62,24 @@ class IT_TaskControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private InProcessOutboxBroker outboxBroker;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @AfterEach
     public void cleanup() {
         SecurityContextHolder.clearContext();
@@ -66,6 +108,52 @@ class IT_TaskControllerTest {
                 .andExpect(content().string(StringContains.containsString("Task createdAt with id: ")));
     }
 
+    @Test
+    void createTasksInBatch() throws Exception {
+        String tasks = """
+                [
+                {"title": "Batch one", "description": "First of batch", "status": "ON_HOLD", "priority": "LOW", "executorId": 1},
+                {"title": "", "description": "No title", "status": "ON_HOLD", "priority": "LOW"},
+                {"title": "Batch three", "description": "Unknown executor", "status": "ON_HOLD", "priority": "LOW", "executorId": 42},
+                {"title": "Batch four", "description": "Last of batch", "status": "IN_PROGRESS", "priority": "HIGH"}
+                ]
+                """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/batch")
+                        .content(tasks)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("FAILED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error", StringContains.containsString("title")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].error", CoreMatchers.is("There is no User with executorId: 42")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].status", CoreMatchers.is("CREATED")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/by-author/{authorId}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(3)));
+    }
+
+    @Test
+    void updateTasksInBatch() throws Exception {
+        String tasks = """
+                {
+                "1": {"title": "Renamed", "description": "First description", "status": "COMPLETED", "priority": "HIGH", "executorId": 1},
+                "99": {"title": "Missing", "description": "No such task", "status": "ON_HOLD", "priority": "LOW"}
+                }
+                """;
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/batch")
+                        .content(tasks)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("UPDATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error", CoreMatchers.is("There is no Task with id: 99")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title", CoreMatchers.is("Renamed")));
+    }
+
     @Test
     void deleteTask() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/{id}/delete", 1))
@@ -99,6 +187,261 @@ class IT_TaskControllerTest {
                 );
     }
 
+    @Test
+    void staleIfMatchMergedWhenFieldsDiffer() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/{id}/update", 1)
+                        .header("If-Match", "\"0\"")
+                        .content(taskJson("First description", "IN_PROGRESS"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", CoreMatchers.startsWith("\"1-")));
+
+        // still based on version 0: only the description differs from it, so the new status survives
+        String etag = mockMvc.perform(MockMvcRequestBuilders.put("/tasks/{id}/update", 1)
+                        .header("If-Match", "\"0\"")
+                        .content(taskJson("Edited description", "COMPLETED"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", CoreMatchers.startsWith("\"2-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.header().string("ETag", etag))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("IN_PROGRESS")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.description", CoreMatchers.is("Edited description")));
+    }
+
+    @Test
+    void staleIfMatchRejectedWhenSameFieldChanged() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/{id}/update", 1)
+                        .header("If-Match", "\"0\"")
+                        .content(taskJson("First description", "IN_PROGRESS"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/{id}/update", 1)
+                        .header("If-Match", "\"0\"")
+                        .content(taskJson("First description", "ON_HOLD"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(StringContains.containsString("conflicting fields: [status]")));
+    }
+
+    @Test
+    void updateStatus() throws Exception {
+        // the executor changes the status while the author edits version 0
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                        .content("{\"status\": \"IN_PROGRESS\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Task status updated successfully: 1"));
+
+        // the author changed only the description: merged onto version 1, the new status is kept
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/{id}/update", 1)
+                        .header("If-Match", "\"0\"")
+                        .content(taskJson("Edited description", "COMPLETED"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        String etag = mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                        .header("If-Match", "\"1\"")
+                        .content("{\"status\": \"ON_HOLD\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", CoreMatchers.startsWith("\"3-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // based on version 0, when the status was still COMPLETED: the status itself changed since
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                        .header("If-Match", "\"0\"")
+                        .content("{\"status\": \"COMPLETED\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.header().string("ETag", etag))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("ON_HOLD")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.description", CoreMatchers.is("Edited description")));
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 99)
+                        .content("{\"status\": \"ON_HOLD\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void conditionalGet() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // a new comment changes neither version nor updatedAt of the task, but the body shows the count
+        mockMvc.perform(MockMvcRequestBuilders.post("/comments/create")
+                        .param("taskId", "1")
+                        .param("content", "second comment"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.comments", CoreMatchers.is("2 comment(s)")));
+    }
+
+    @Test
+    void taskEventsStream() throws Exception {
+        MvcResult stream = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/events").param("executorId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                        .content("{\"status\": \"IN_PROGRESS\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        outboxRelay.drain();    // events reach subscribers through the outbox, the relay is off in tests
+
+        String body = awaitEvents(stream, "STATUS_CHANGED");
+        Assertions.assertTrue(body.contains("\"type\":\"STATUS_CHANGED\""), body);
+        Assertions.assertTrue(body.contains("\"taskId\":1"), body);
+        String lastEventId = body.substring(body.indexOf("id:") + 3, body.indexOf('\n', body.indexOf("id:")));
+
+        // missed while disconnected: replayed after the last event the client saw
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                        .content("{\"status\": \"ON_HOLD\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        outboxRelay.drain();
+        MvcResult resumed = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/events").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String resumedBody = awaitEvents(resumed, "STATUS_CHANGED");
+        Assertions.assertTrue(resumedBody.contains("\"type\":\"STATUS_CHANGED\""), resumedBody);
+        Assertions.assertFalse(resumedBody.contains("id:" + lastEventId + "\n"), resumedBody);
+
+        // an event this instance does not keep cannot be replayed from
+        MvcResult unknown = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/events").header("Last-Event-ID", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Assertions.assertTrue(awaitEvents(unknown, "reset").contains("event:reset"));
+    }
+
+    private static String awaitEvents(MvcResult stream, String expected) throws Exception {
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains(expected); i++) {   // sent from the delivery pool
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    @Test
+    void outboxRelayKeepsOrderPerTask() throws Exception {
+        List<String> delivered = new ArrayList<>();
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+        OutboxConsumer consumer = new OutboxConsumer() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public void accept(OutboxMessage message) {
+                if (message.getTaskId() == 1 && failOnce.getAndSet(false)) throw new IllegalStateException("down");
+                delivered.add(message.getTaskId() + ":" + message.getEventType());
+            }
+        };
+        outboxBroker.subscribe(consumer);
+        try {
+            for (String status : List.of("IN_PROGRESS", "ON_HOLD")) {
+                mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                                .content("{\"status\": \"" + status + "\"}")
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            }
+            mockMvc.perform(MockMvcRequestBuilders.post("/tasks/create")
+                            .content(taskJson("Outbox", "ON_HOLD"))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isCreated());
+
+            // the first message of task 1 fails: both of its messages wait, the new task goes through
+            Assertions.assertEquals(1, outboxRelay.drain());
+            Assertions.assertEquals(1, delivered.size(), delivered.toString());
+            Assertions.assertTrue(delivered.get(0).endsWith(":CREATED"), delivered.toString());
+
+            // not due before the backoff ends
+            Assertions.assertEquals(0, outboxRelay.drain());
+            OutboxMessage failed = outboxRepository.findAll(Sort.by("id")).get(0);
+            Assertions.assertEquals(1, failed.getAttempts());
+            Assertions.assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+            Assertions.assertTrue(failed.getLastError().contains("down"), failed.getLastError());
+
+            makeOutboxDue();
+            Assertions.assertEquals(2, outboxRelay.drain());
+            Assertions.assertEquals(List.of("1:STATUS_CHANGED", "1:STATUS_CHANGED"), delivered.subList(1, 3));
+            Assertions.assertEquals(0, outboxRelay.drain());
+        } finally {
+            outboxBroker.unsubscribe(consumer);
+        }
+    }
+
+    @Test
+    void outboxRelayKeepsDeadLetters() throws Exception {
+        for (String status : List.of("IN_PROGRESS", "ON_HOLD")) {
+            mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/{id}/status", 1)
+                            .content("{\"status\": \"" + status + "\"}")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+        Long poisonId = outboxRepository.findAll(Sort.by("id")).get(0).getId();
+        List<Long> delivered = new ArrayList<>();
+        OutboxConsumer consumer = new OutboxConsumer() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public void accept(OutboxMessage message) {
+                if (message.getId().equals(poisonId)) throw new IllegalStateException("poison");
+                delivered.add(message.getId());
+            }
+        };
+        outboxBroker.subscribe(consumer);
+        try {
+            // app.outbox.max-attempts is 3 in tests; the later message of the task waits until the last one
+            for (int attempt = 1; attempt <= 3; attempt++) {
+                makeOutboxDue();
+                Assertions.assertEquals(attempt < 3 ? 0 : 1, outboxRelay.drain());
+            }
+            Assertions.assertEquals(List.of(poisonId + 1), delivered);
+
+            List<OutboxMessage> left = outboxRepository.findAll();
+            Assertions.assertEquals(1, left.size());
+            Assertions.assertEquals(poisonId, left.get(0).getId());
+            Assertions.assertEquals(3, left.get(0).getAttempts());
+            Assertions.assertNotNull(left.get(0).getDeadAt());
+            Assertions.assertTrue(left.get(0).getLastError().contains("poison"), left.get(0).getLastError());
+
+            makeOutboxDue();
+            Assertions.assertEquals(0, outboxRelay.drain());
+            Assertions.assertEquals(1, outboxRepository.count());
+        } finally {
+            outboxBroker.unsubscribe(consumer);
+        }
+    }
+
+    private void makeOutboxDue() {
+        List<OutboxMessage> messages = outboxRepository.findAll();
+        messages.forEach(message -> message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        outboxRepository.saveAll(messages);
+    }
+
+    private static String taskJson(String description, String status) {
+        return """
+                {"title": "The first task", "description": "%s", "status": "%s", "priority": "HIGH", "executorId": 1}
+                """.formatted(description, status);
+    }
+
     @Test
     void findOne() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1)
@@ -107,6 +450,70 @@ class IT_TaskControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.author", CoreMatchers.is("id: 1, name: Admin, surname: Admin")));
     }
 
+    @Test
+    void timestampFormats() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.createdAt",
+                        CoreMatchers.is(CoreMatchers.instanceOf(String.class))))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.createdAt",
+                        CoreMatchers.is(CoreMatchers.containsString(":"))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1).param("timeFormat", "epoch"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.createdAt",
+                        CoreMatchers.is(CoreMatchers.instanceOf(Number.class))));
+    }
+
+    @Test
+    void commentCountFollowsNewComments() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.comments", CoreMatchers.is("1 comment(s)")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/comments/create")
+                        .param("taskId", "1")
+                        .param("content", "second comment"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.comments", CoreMatchers.is("2 comment(s)")));
+    }
+
+    @Test
+    void commentUpdateWritesOutboxMessage() {
+        CommentReq req = new CommentReq();
+        req.setTaskId(1L);
+        req.setContent("edited content");
+
+        commentService.update(1L, req, SecurityContextHolder.getContext().getAuthentication());
+
+        List<OutboxMessage> messages = outboxRepository.findAll(Sort.by("id"));
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertEquals("COMMENT_UPDATED", messages.get(0).getEventType());
+        Assertions.assertEquals(1L, messages.get(0).getTaskId());
+    }
+
+    @Test
+    void commentDuringTaskUpdateNotLost() throws Exception {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        TransactionTemplate update = new TransactionTemplate(transactionManager);
+        TransactionTemplate comment = new TransactionTemplate(transactionManager);
+        comment.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CommentReq req = new CommentReq();
+        req.setTaskId(1L);
+        req.setContent("concurrent comment");
+
+        update.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(1L).orElseThrow();
+            // a comment commits between the task's read and its write
+            comment.executeWithoutResult(inner -> commentService.create(req, auth));
+            task.setTitle("Renamed meanwhile");
+            taskRepository.flush();
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title", CoreMatchers.is("Renamed meanwhile")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.comments", CoreMatchers.is("2 comment(s)")));
+    }
+
     @Test
     void findAllEagerly() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/tasks/all")
@@ -119,6 +526,189 @@ class IT_TaskControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.[0].author", CoreMatchers.is("id: 1, name: Admin, surname: Admin")));
     }
 
+    @Test
+    void findAllByCursor() throws Exception {
+        String task = """
+                {
+                "title": "Second Task",
+                "description": "Test keyset paging",
+                "status": "ON_HOLD",
+                "priority": "LOW"
+                }
+                """;
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/create")
+                        .content(task)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/lazy")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/lazy")
+                        .param("cursor", nextCursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title", CoreMatchers.is("The first task")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void listingsProjectFullNames() throws Exception {
+        String fullName = "id: 1, name: Admin, surname: Admin";
+        for (String path : List.of("/tasks/by-author/1", "/tasks/by-executor/1", "/tasks/by-status/COMPLETED",
+                "/tasks/by-priority/HIGH", "/tasks/criteria", "/tasks/lazy", "/tasks/all")) {
+            mockMvc.perform(MockMvcRequestBuilders.get(path))
+                    .andExpect(status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].author", CoreMatchers.is(fullName)))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].executor", CoreMatchers.is(fullName)));
+            mockMvc.perform(MockMvcRequestBuilders.get(path).param("cursor", ""))
+                    .andExpect(status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].author", CoreMatchers.is(fullName)))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].executor", CoreMatchers.is(fullName)));
+        }
+    }
+
+    @Test
+    void cursorWalksTiesOnCreatedAt() throws Exception {
+        // one batch: every task gets the same createdAt, the id decides the order
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/batch")
+                        .content("[" + String.join(",", taskJson("Tie a", "ON_HOLD"), taskJson("Tie b", "ON_HOLD"),
+                                taskJson("Tie c", "ON_HOLD")) + "]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            String page = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/all")
+                            .param("cursor", cursor)
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            seen.add(JsonPath.read(page, "$.content[0].description"));
+            cursor = JsonPath.read(page, "$.nextCursor");
+        } while (cursor != null);
+
+        Assertions.assertEquals(List.of("Tie c", "Tie b", "Tie a", "First description"), seen);
+    }
+
+    @Test
+    void findByCriteria() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/criteria")
+                        .param("authorId", "1")
+                        .param("status", "ON_HOLD,COMPLETED")
+                        .param("createdFrom", "2000-01-01T00:00:00")
+                        .param("sort", "priority"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)));
+
+        // a date alone covers the whole day in both bounds
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/criteria")
+                        .param("createdFrom", "2000-01-01")
+                        .param("createdTo", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/criteria")
+                        .param("createdFrom", "01.01.2000"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/criteria")
+                        .param("priority", "LOW"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(0)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/criteria")
+                        .param("sort", "author.password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/export").param("comments", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(1, lines.length);
+        Assertions.assertEquals(1, (Integer) JsonPath.read(lines[0], "$.id"));
+        Assertions.assertEquals(1, (Integer) JsonPath.read(lines[0], "$.comments.length()"));
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        String rows = """
+                {"title": "Imported", "description": "From legacy", "status": "ON_HOLD", "priority": "LOW", "author": "adm@site.com", "comments": [{"author": "adm@site.com", "content": "legacy comment"}]}
+                {"title": "Orphan", "description": "Unknown author", "status": "ON_HOLD", "priority": "LOW", "author": "nobody@site.com"}
+                {"title": "Broken"
+                """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import")
+                        .content(rows)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rowsRead", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.tasksImported", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.commentsImported", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejectedCount", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected[0].line", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected[1].line", CoreMatchers.is(3)));
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        String rows = """
+                kind,title,description,status,priority,author,executor,content
+                task,"Imported, from CSV","Two
+                lines",IN_PROGRESS,HIGH,adm@site.com,adm@site.com,
+                comment,,,,,adm@site.com,,"He said ""done""\"
+                task,No,too short,ON_HOLD,LOW,adm@site.com,,
+                """;
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", 1)).andExpect(status().isOk());   // cached
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/import")
+                        .content(rows)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.tasksImported", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.commentsImported", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected[0].line", CoreMatchers.is(5)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/by-status/{status}", "IN_PROGRESS"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title", CoreMatchers.is("Imported, from CSV")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].comments", CoreMatchers.is("1 comment(s)")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.asExecutor",
+                        CoreMatchers.hasItem(CoreMatchers.containsString("Imported, from CSV"))));
+
+        List<OutboxMessage> messages = outboxRepository.findAll();
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertEquals("CREATED", messages.get(0).getEventType());
+        Assertions.assertTrue(messages.get(0).getPayload().contains("\"executorId\":1"), messages.get(0).getPayload());
+    }
+
+    @Test
+    void invalidCursorRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/by-status/{status}", "COMPLETED")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/all")
+                        .param("cursor", "")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithAnonymousUser
     void anonymousRejected() throws Exception{
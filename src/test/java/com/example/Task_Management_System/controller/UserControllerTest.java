@@ -1,6 +1,10 @@
 package com.example.Task_Management_System.controller;
 
 import com.example.Task_Management_System.controllers.UserController;
+import com.example.Task_Management_System.model.User;
+import com.example.Task_Management_System.repository.UserRepository;
+import com.example.Task_Management_System.services.CacheDependencies;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.core.StringContains;
 import org.junit.jupiter.api.Test;
@@ -9,6 +13,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
@@ -17,8 +23,12 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @AutoConfigureMockMvc
 @AutoConfigureDataJpa
@@ -34,6 +44,15 @@ class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheDependencies cacheDependencies;
+
     @Test
     public void whenUserControllerInjected_thenNotNull() {
         assertNotNull(userController);
@@ -94,6 +113,111 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void whenDeleteUser_thenTasksAndCommentsRemovedInBulk() throws Exception {
+        insertUserWithHistory();
+        cacheDependencies.userRespChanged(List.of(1L));     // rows were inserted behind the cache
+        // user 1 executes task 2 of user 2: the cached profile lists it
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.asExecutor",
+                        CoreMatchers.hasItem(CoreMatchers.containsString("Authored by 2"))));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/users/2/delete"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        assertHistoryRemoved();
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.asExecutor",
+                        CoreMatchers.not(CoreMatchers.hasItem(CoreMatchers.containsString("Authored by 2")))));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void whenDeleteUserAsync_thenJobFinishes() throws Exception {
+        insertUserWithHistory();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.delete("/users/2/delete").param("async", "true"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string("Location", StringContains.containsString("/users/deletions/")))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(body, "$.jobId");
+
+        String status = "RUNNING";
+        for (int i = 0; i < 100 && status.equals("RUNNING"); i++) {
+            Thread.sleep(50);
+            status = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders.get("/users/deletions/" + jobId))
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("DONE", status);
+        assertHistoryRemoved();
+    }
+
+    // user 2 authored task 2 (commented by both users), executes task 1 and commented on it
+    private void insertUserWithHistory() {
+        jdbcTemplate.update("insert into user_table (email, first_name, last_name, password, role, id) " +
+                "values ('power@site.com', 'Power', 'User', 'x', 'USER', 2)");
+        jdbcTemplate.update("insert into task (author_id, created_at, description, executor_id, priority, status, title, comment_count, id) " +
+                "values (2, current_timestamp, 'd', 1, 'LOW', 'ON_HOLD', 'Authored by 2', 2, 2)");
+        jdbcTemplate.update("update task set executor_id = 2, comment_count = 2 where id = 1");
+        jdbcTemplate.update("insert into comment (author_id, content, created_at, task_id, id) values " +
+                "(1, 'c', current_timestamp, 2, 2), (2, 'c', current_timestamp, 2, 3), (2, 'c', current_timestamp, 1, 4)");
+    }
+
+    private void assertHistoryRemoved() {
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from user_table where id = 2", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from task where id = 2", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from comment", Integer.class));
+        assertNull(jdbcTemplate.queryForObject("select executor_id from task where id = 1", Long.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select comment_count from task where id = 1", Integer.class));
+        // one outbox message per affected task and step: unassigned, deleted, comment removed
+        assertEquals(List.of("1:UPDATED", "2:DELETED", "1:COMMENT_DELETED"), jdbcTemplate.queryForList(
+                "select task_id || ':' || event_type from outbox_message order by id", String.class));
+    }
+
+    @Test
+    void whenLoginWithWeakerHash_thenPasswordRehashed() throws Exception {
+        userRepository.save(User.builder()
+                .firstName("Legacy")
+                .lastName("Legacy")
+                .email("legacy@site.com")
+                .password(new BCryptPasswordEncoder(4).encode("legacy-password"))
+                .role(User.Role.USER)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                        .content("""
+                                {"email": "legacy@site.com", "password": "legacy-password"}
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        String rehashed = userRepository.findUserByEmail("legacy@site.com").orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$10$"), rehashed);
+    }
+
+    @Test
+    void whenRequestWithIssuedToken_thenAuthenticatedRepeatedly() throws Exception {
+        String loginCorrect = """
+                {
+                "email": "adm@site.com",
+                "password": "123"
+                }
+                """;
+        String body = mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                        .content(loginCorrect)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.token");
+
+        for (int i = 0; i < 2; i++) {   // second call is served from the token cache
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{id}", 1)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is("adm@site.com")));
+        }
+    }
+
     @Test
     void whenLoginWithInvalidData_thenBadCredentials() throws Exception {
         String loginIncorrect = """
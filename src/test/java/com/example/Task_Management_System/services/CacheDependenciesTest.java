@@ -0,0 +1,131 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.config.AppCacheProperties;
+import com.example.Task_Management_System.config.CacheConfig;
+import com.example.Task_Management_System.config.InMemorySharedCacheTier;
+import com.example.Task_Management_System.dto.TaskResp;
+import com.example.Task_Management_System.model.Task;
+import com.example.Task_Management_System.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import com.example.Task_Management_System.config.TwoLevelCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheDependenciesTest {
+
+    private final CacheManager cacheManager =
+            new ConcurrentMapCacheManager(CacheConfig.TASKS, CacheConfig.USERS, CacheConfig.USER_RESP);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemorySharedCacheTier sharedTier = new InMemorySharedCacheTier(new AppCacheProperties());
+    private final AuthTokenCache authTokenCache = new AuthTokenCache(100, sharedTier, meterRegistry);
+    private final CacheDependencies dependencies = new CacheDependencies(cacheManager,
+            sharedTier, authTokenCache, meterRegistry);
+
+    @Test
+    void whenTaskChanged_thenOnlyUserRespListingItEvicted() {
+        cacheManager.getCache(CacheConfig.USER_RESP).put(1L, "executes task 10");
+        cacheManager.getCache(CacheConfig.USER_RESP).put(2L, "executes task 20");
+        dependencies.userRespCached(1L, List.of(10L));
+        dependencies.userRespCached(2L, List.of(20L));
+
+        dependencies.taskChanged(10L, null);
+
+        assertNull(cacheManager.getCache(CacheConfig.USER_RESP).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.USER_RESP).get(2L));
+        assertEquals(1.0, meterRegistry.get("cache.dependency.evictions").tag("cache", CacheConfig.USER_RESP).counter().count());
+    }
+
+    @Test
+    void whenUserChanged_thenOnlyTasksShowingUserEvicted() {
+        cacheManager.getCache(CacheConfig.TASKS).put(10L, task(10L, 1L, 2L));
+        cacheManager.getCache(CacheConfig.TASKS).put(20L, task(20L, 3L, null));
+        dependencies.taskCached(task(10L, 1L, 2L));
+        dependencies.taskCached(task(20L, 3L, null));
+
+        dependencies.userChanged(2L, "executor@site.com");
+
+        assertNull(cacheManager.getCache(CacheConfig.TASKS).get(10L));
+        assertNotNull(cacheManager.getCache(CacheConfig.TASKS).get(20L));
+    }
+
+    @Test
+    void whenUserChangedInTransaction_thenTokensEvictedAfterCommit() {
+        User user = User.builder().email("executor@site.com").password("x").role(User.Role.USER).build();
+        authTokenCache.put("token", user, new Date(System.currentTimeMillis() + 60_000));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dependencies.userChanged(2L, "executor@site.com");
+            // an old-token request before the commit may still see the cached principal...
+            assertNotNull(authTokenCache.get("token"));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // ...but cannot put it back after the commit
+        assertNull(authTokenCache.get("token"));
+    }
+
+    @Test
+    void whenUserChanged_thenTokensEvictedOnOtherInstances() {
+        User user = User.builder().email("executor@site.com").password("x").role(User.Role.USER).build();
+        AuthTokenCache otherInstance = new AuthTokenCache(100, sharedTier, new SimpleMeterRegistry());
+        otherInstance.put("token", user, new Date(System.currentTimeMillis() + 60_000));
+
+        dependencies.userChanged(2L, "executor@site.com");
+
+        assertNull(otherInstance.get("token"));
+    }
+
+    @Test
+    void whenSharedTierFails_thenNearCachesDroppedInsteadOfFailing() {
+        InMemorySharedCacheTier failingTier = new InMemorySharedCacheTier(new AppCacheProperties()) {
+            @Override
+            public Set<Object> dependents(String cacheName, String reference) {
+                throw new IllegalStateException("shared tier unreachable");
+            }
+        };
+        ConcurrentMapCache nearUserResp = new ConcurrentMapCache(CacheConfig.USER_RESP);
+        SimpleCacheManager twoLevel = new SimpleCacheManager();
+        twoLevel.setCaches(List.of(
+                new TwoLevelCache(new ConcurrentMapCache(CacheConfig.TASKS), failingTier, true),
+                new TwoLevelCache(new ConcurrentMapCache(CacheConfig.USERS), failingTier, false),
+                new TwoLevelCache(nearUserResp, failingTier, true)));
+        twoLevel.afterPropertiesSet();
+        CacheDependencies failing = new CacheDependencies(twoLevel, failingTier, authTokenCache, new SimpleMeterRegistry());
+        nearUserResp.put(1L, "executes task 10");
+
+        assertDoesNotThrow(() -> failing.taskChanged(10L, null));
+
+        assertNull(nearUserResp.get(1L));
+    }
+
+    @Test
+    void linkGaugeCountsCachedEntries() {
+        dependencies.userRespCached(1L, List.of(10L, 11L));
+        dependencies.userRespCached(2L, List.of(10L));
+
+        assertEquals(2.0, meterRegistry.get("cache.dependency.links").tag("cache", CacheConfig.USER_RESP).gauge().value());
+    }
+
+    private static TaskResp task(Long id, Long authorId, Long executorId) {
+        return new TaskResp(id, "title", "description", Task.Status.ON_HOLD, Task.Priority.LOW,
+                authorId, "Author", "Author", executorId, "Executor", "Executor",
+                0, LocalDateTime.now(), null, 0L);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.Task_Management_System.services;
+
+import com.example.Task_Management_System.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// key rotation: "k0" is the retired key, "k1" the one new tokens are signed with
+class JwtServiceTest {
+
+    private static final String OLD_SECRET = "iNa0fyrTACIZxkT2fu9kET4FtF1BJbIviNa0fyrTACIZxkT2fu9kET4FtF1BJbIv";
+    private static final String NEW_SECRET = "QmV0YUtleUJldGFLZXlCZXRhS2V5QmV0YUtleUJldGFLZXlCZXRhS2V5QmV0YUtl";
+
+    private final JwtService before = service(OLD_SECRET, "k0", Map.of());
+    private final JwtService after = service(NEW_SECRET, "k1", Map.of("k0", OLD_SECRET));
+
+    @Test
+    void whenSignedWithRetiredKey_thenStillValid() {
+        String token = before.generateToken("adm@site.com");
+
+        assertTrue(after.validateToken(token));
+        assertEquals("adm@site.com", after.extractUserEmail(token));
+    }
+
+    @Test
+    void whenSignedWithCurrentKey_thenValid() {
+        assertEquals("adm@site.com", after.extractUserEmail(after.generateToken("adm@site.com")));
+    }
+
+    @Test
+    void whenKeyIdUnknown_thenRejected() {
+        JwtService retiredKeyDropped = service(NEW_SECRET, "k1", Map.of());
+        String token = before.generateToken("adm@site.com");
+
+        assertFalse(retiredKeyDropped.validateToken(token));
+        assertThrows(UnsupportedJwtException.class, () -> retiredKeyDropped.extractAllClaims(token));
+    }
+
+    @Test
+    void whenNoKeyId_thenCheckedWithCurrentKey() {
+        assertEquals("adm@site.com", after.extractUserEmail(tokenWithoutKeyId(NEW_SECRET)));
+        // a pre-rotation token without "kid" cannot pick a retired key
+        assertThrows(SignatureException.class, () -> after.extractAllClaims(tokenWithoutKeyId(OLD_SECRET)));
+    }
+
+    private static String tokenWithoutKeyId(String secret) {
+        return Jwts.builder()
+                .subject("adm@site.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+    }
+
+    private static JwtService service(String secret, String keyId, Map<String, String> verificationKeys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        properties.setKeyId(keyId);
+        properties.getVerificationKeys().putAll(verificationKeys);
+        return new JwtService(properties, new SimpleMeterRegistry());
+    }
+}
@@ -1,6 +1,7 @@
-CREATE SEQUENCE if not exists comment_seq START WITH 2 INCREMENT BY 1;
-CREATE SEQUENCE if not exists task_seq START WITH 2 INCREMENT BY 1;
-CREATE SEQUENCE if not exists user_table_seq START WITH 2 INCREMENT BY 1;
+CREATE SEQUENCE if not exists comment_seq START WITH 2 INCREMENT BY 50;
+CREATE SEQUENCE if not exists task_seq START WITH 2 INCREMENT BY 50;
+CREATE SEQUENCE if not exists user_table_seq START WITH 2 INCREMENT BY 50;
+CREATE SEQUENCE if not exists outbox_message_seq START WITH 1 INCREMENT BY 1;
 
 CREATE TABLE if not exists user_table
 (
@@ -33,16 +34,55 @@ CREATE TABLE if not exists task
     priority    VARCHAR(255) NOT NULL check (priority in ('HIGH','REGULAR','LOW')),
     author_id   BIGINT       NOT NULL,
     executor_id BIGINT,
-    created_at   TIMESTAMP,
+    created_at   TIMESTAMP    NOT NULL,
     updated_at   TIMESTAMP,
+    comment_count INTEGER DEFAULT 0 NOT NULL,
+    version     BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_task PRIMARY KEY (id)
 );
 
+CREATE TABLE if not exists task_revision
+(
+    task_id     BIGINT       NOT NULL,
+    version     BIGINT       NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255) NOT NULL,
+    priority    VARCHAR(255) NOT NULL,
+    executor_id BIGINT,
+    CONSTRAINT pk_task_revision PRIMARY KEY (task_id, version),
+    CONSTRAINT fk_task_revision_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+CREATE TABLE if not exists outbox_message
+(
+    id         BIGINT        NOT NULL,
+    event_type VARCHAR(32)   NOT NULL,
+    task_id    BIGINT        NOT NULL,
+    payload    VARCHAR(1000) NOT NULL,
+    created_at TIMESTAMP     NOT NULL,
+    attempts   INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    dead_at    TIMESTAMP,
+    last_error VARCHAR(1000),
+    CONSTRAINT pk_outbox_message PRIMARY KEY (id)
+);
+
 ALTER TABLE user_table
     ADD CONSTRAINT uc_user_table_email UNIQUE (email);
 
 CREATE INDEX email_idx ON user_table (email);
 
+CREATE INDEX task_author_created_idx ON task (author_id, created_at DESC, id DESC);
+CREATE INDEX task_executor_created_idx ON task (executor_id, created_at DESC, id DESC);
+CREATE INDEX task_status_created_idx ON task (status, created_at DESC, id DESC);
+CREATE INDEX task_status_priority_created_idx ON task (status, priority, created_at);
+CREATE INDEX task_priority_created_id_idx ON task (priority, created_at DESC, id DESC);
+CREATE INDEX task_created_id_idx ON task (created_at DESC, id DESC);
+CREATE INDEX comment_task_created_idx ON comment (task_id, created_at);
+CREATE INDEX comment_author_created_idx ON comment (author_id, created_at);
+CREATE INDEX outbox_message_task_idx ON outbox_message (task_id, id);
+
 ALTER TABLE task
     ADD CONSTRAINT FK_TASK_ON_AUTHOR FOREIGN KEY (author_id) REFERENCES user_table (id);
 
@@ -62,9 +102,9 @@ values
     ('adm@site.com', 'Admin', 'Admin', '$2a$10$.sGf.fZ2GVXmYIU35E5wSOMRbPj2A1i.nBeJF2De9OHj6hv8DSo2O', 'ADMIN', 1);
 
 insert into task
-(author_id, created_at, description, executor_id, priority, status, title, updated_at, id)
+(author_id, created_at, description, executor_id, priority, status, title, updated_at, comment_count, id)
 values
-    (1, CURRENT_TIMESTAMP, 'First description', 1, 'HIGH', 'COMPLETED', 'The first task', current_timestamp, 1);
+    (1, CURRENT_TIMESTAMP, 'First description', 1, 'HIGH', 'COMPLETED', 'The first task', current_timestamp, 1, 1);
 
 insert into comment
 (author_id, content, created_at, task_id, id)
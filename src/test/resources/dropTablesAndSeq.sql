@@ -1,3 +1,7 @@
+drop table if exists outbox_message cascade;
+
+drop table if exists task_revision cascade;
+
 drop table if exists comment cascade;
 
 drop table if exists task cascade;
@@ -8,4 +12,6 @@ drop sequence if exists comment_seq;
 
 drop sequence if exists task_seq;
 
-drop sequence if exists user_table_seq;
\ No newline at end of file
+drop sequence if exists user_table_seq;
+
+drop sequence if exists outbox_message_seq;
\ No newline at end of file